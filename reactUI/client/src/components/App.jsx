@@ -29,6 +29,8 @@ class App extends React.Component {
       nameSubmitted: false,
       gameScreen: null,
       screen: [],
+      // last state version applied from /turn, 0 when state came from another endpoint
+      version: 0,
     };
 
     this.handleChange = this.handleChange.bind(this);
@@ -131,7 +133,7 @@ class App extends React.Component {
 
     if (obstacle && !isItem) {
       axios
-        .get(`/command/${command}`)
+        .get(`/turn/${command}`, { params: { ack: this.state.version } })
         .then(({ data }) => {
           // Update player & room
           let { response, characterSelected, question, gameOver } = data;
@@ -143,16 +145,14 @@ class App extends React.Component {
             bannerDisplayed: true,
             gameOver,
           });
-          if (!characterSelected && !question && !gameOver) {
-            this.updateStatus();
-          }
+          this.applyTurn(data);
         })
         .catch((err) => {
           console.log(err);
         });
     } else if (obstacle && isItem) {
       axios
-        .get(`/command/${command}`)
+        .get(`/turn/${command}`, { params: { ack: this.state.version } })
         .then(({ data }) => {
           // Update player & room
           let { response, characterSelected, question, gameOver } = data;
@@ -164,14 +164,12 @@ class App extends React.Component {
             bannerDisplayed: true,
             gameOver,
           });
-          if (!characterSelected && !question && !gameOver) {
-            this.updateStatus();
-          }
+          this.applyTurn(data);
           axios
             .get(`/nav/${direction}`)
             .then(({ data }) => {
               let { playerInfo, response } = data;
-              this.setState({ player: playerInfo, prompt: [response] });
+              this.setState({ player: playerInfo, prompt: [response], version: 0 });
             })
             .catch((err) => {
               console.log(err);
@@ -185,7 +183,7 @@ class App extends React.Component {
         .get(`/nav/${direction}`)
         .then(({ data }) => {
           let { playerInfo, response } = data;
-          this.setState({ player: playerInfo, prompt: [response] });
+          this.setState({ player: playerInfo, prompt: [response], version: 0 });
         })
         .catch((err) => {
           console.log(err);
@@ -213,8 +211,14 @@ class App extends React.Component {
       } else {
         route = "command";
       }
+      let params = {};
+      if (route === "command") {
+        // commands go through /turn, which returns the changed state with the result
+        route = "turn";
+        params.ack = this.state.version;
+      }
       axios
-        .get(`/${route}/${command}`)
+        .get(`/${route}/${command}`, { params })
         .then(({ data }) => {
           // Update player & room
           let { response, characterSelected, question, gameOver } = data;
@@ -226,7 +230,9 @@ class App extends React.Component {
             bannerDisplayed: true,
             gameOver,
           });
-          if (!characterSelected && !question && !gameOver) {
+          if (route === "turn") {
+            this.applyTurn(data);
+          } else if (!characterSelected && !question && !gameOver) {
             this.updateStatus();
           }
         })
@@ -250,6 +256,7 @@ class App extends React.Component {
           room: roomInfo,
           playerLoaded: true,
           currentRoom,
+          version: 0,
         });
       })
       .catch((err) => {
@@ -257,6 +264,21 @@ class App extends React.Component {
       });
   }
 
+  // Merge the state fields a /turn response carries. Fields left out are unchanged.
+  applyTurn({ version, playerInfo, roomInfo, currentRoom }) {
+    let update = { version };
+    if (playerInfo) {
+      update.player = playerInfo;
+      update.playerLoaded = true;
+    }
+    if (roomInfo) {
+      this.loadGameScreen({ x: roomInfo[0].x, y: roomInfo[0].y });
+      update.room = roomInfo;
+      update.currentRoom = currentRoom;
+    }
+    this.setState(update);
+  }
+
   initialize() {
     this.setState({ command: "" });
   }
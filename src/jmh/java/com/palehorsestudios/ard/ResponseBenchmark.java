@@ -0,0 +1,56 @@
+package com.palehorsestudios.ard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palehorsestudios.ard.characters.Player;
+import com.palehorsestudios.ard.characters.PlayerFactory;
+import com.palehorsestudios.ard.environment.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the two Response shapes the client sees most: a bare message, and a turn that carries the
+ * player, the room info and the room view. Uses a single shared ObjectMapper, as Spring MVC does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseBenchmark {
+    ObjectMapper mapper;
+    Response message;
+    Response turn;
+
+    @Setup
+    public void setUp() {
+        mapper = new ObjectMapper();
+        Game game = new Game();
+        game.selectCharacter("A");
+        Player player = game.getPlayer();
+        Room room = player.getCurrentRoom();
+        message = new Response.Builder().response("Moved North.").build();
+        turn = new Response.Builder()
+            .response(game.turn("look around").build().response)
+            .playerInfo(player.getPlayerInfo())
+            .roomInfo(room.getRoomInfo())
+            .getRoom(room)
+            .version(1)
+            .build();
+    }
+
+    @Benchmark
+    public String message() throws JsonProcessingException {
+        return mapper.writeValueAsString(message);
+    }
+
+    @Benchmark
+    public String turn() throws JsonProcessingException {
+        return mapper.writeValueAsString(turn);
+    }
+}
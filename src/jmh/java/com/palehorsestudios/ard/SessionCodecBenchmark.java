@@ -0,0 +1,57 @@
+package com.palehorsestudios.ard;
+
+import com.palehorsestudios.ard.characters.PlayerFactory;
+import com.palehorsestudios.ard.environment.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to snapshot and restore one session with a map of the given size. The snapshot size in bytes is printed at
+ * setup, since that is the other half of what a checkpoint costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionCodecBenchmark {
+
+    @Param({"1", "16", "128"})
+    int rooms;
+
+    Game game;
+    byte[] snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = new Game();
+        game.setPlayer(PlayerFactory.createPlayer(game.getGameMap().getStart(), new ArrayList<>(), "A"));
+        SplittableRandom random = new SplittableRandom(42);
+        Direction[] directions = Direction.values();
+        while (game.getGameMap().size() < rooms) {
+            game.getGameMap().moveCharacter(game.getPlayer(), directions[random.nextInt(directions.length)]);
+        }
+        snapshot = SessionCodec.encode(game);
+        System.out.println();
+        System.out.println(rooms + " rooms: " + snapshot.length + " bytes per session");
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return SessionCodec.encode(game);
+    }
+
+    @Benchmark
+    public Game decode() {
+        return SessionCodec.decode(snapshot);
+    }
+}
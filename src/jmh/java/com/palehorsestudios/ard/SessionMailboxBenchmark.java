@@ -0,0 +1,82 @@
+package com.palehorsestudios.ard;
+
+import com.palehorsestudios.ard.characters.PlayerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Command throughput with every session's commands running directly on the caller ("inline", the old unsynchronized
+ * path) versus queued through per-session mailboxes ("serialized").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SessionMailboxBenchmark {
+    private static final String SHARED = "shared";
+
+    @Param({"inline", "serialized"})
+    String mode;
+
+    GameRegistry registry;
+    final AtomicInteger clients = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new GameRegistry(TimeUnit.MINUTES.toMillis(30), System::currentTimeMillis,
+                mode.equals("serialized") ? GameRegistry.newWorkerPool(Runtime.getRuntime().availableProcessors()) : null);
+        startGame(SHARED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        registry.shutdown();
+    }
+
+    void startGame(String sessionId) {
+        Game game = registry.reset(sessionId);
+        game.setPlayer(PlayerFactory.createPlayer(game.getGameMap().getStart(), new ArrayList<>(), "A"));
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        String sessionId;
+
+        @Setup(Level.Trial)
+        public void setUp(SessionMailboxBenchmark benchmark) {
+            sessionId = "client-" + benchmark.clients.incrementAndGet();
+            benchmark.startGame(sessionId);
+        }
+    }
+
+    /**
+     * Each benchmark thread plays its own session, so work spreads across all cores in both modes.
+     */
+    @Benchmark
+    @Threads(8)
+    public Response ownSession(Client client) {
+        return registry.submit(client.sessionId, game -> game.play("look around")).join();
+    }
+
+    /**
+     * All benchmark threads hammer one session, the double-click case. Inline mode runs the commands concurrently on
+     * one Game; serialized mode runs them one at a time.
+     */
+    @Benchmark
+    @Threads(8)
+    public Response sharedSession() {
+        return registry.submit(SHARED, game -> game.play("look around")).join();
+    }
+}
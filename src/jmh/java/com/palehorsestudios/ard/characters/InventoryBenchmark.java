@@ -0,0 +1,81 @@
+package com.palehorsestudios.ard.characters;
+
+import com.palehorsestudios.ard.environment.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Inventory} against the List&lt;Item&gt; the player used to carry, holding the same items: the boss check that
+ * runs after every command, and a pick up / drop round trip as the commands used to do it (name scan, valueOf,
+ * contains, remove).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InventoryBenchmark {
+    private static final String[] STONE_NAMES = {"Soul_stone", "Power_stone", "Time_stone", "Space_stone",
+            "Mind_stone", "Reality_stone"};
+
+    @Param({"4", "32"})
+    int items;
+
+    List<Item> list;
+    Inventory inventory;
+
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>();
+        inventory = new Inventory();
+        for (int i = 0; i < items; i++) {
+            Item item = Item.values()[i % 6]; // basic items only, so neither has a stone
+            list.add(item);
+            inventory.add(item);
+        }
+    }
+
+    @Benchmark
+    public boolean listHasStone() {
+        for (String stone : STONE_NAMES) {
+            if (list.contains(Item.valueOf(stone))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean inventoryHasStone() {
+        return inventory.containsAny(Inventory.STONES);
+    }
+
+    @Benchmark
+    public boolean listPickUpAndDrop() {
+        String name = "Mind_stone";
+        boolean valid = false;
+        for (Item i : Item.values()) {
+            if (i.name().equals(name)) {
+                valid = true;
+                break;
+            }
+        }
+        list.add(Item.valueOf(name));
+        return valid && list.contains(Item.valueOf(name)) && list.remove(Item.valueOf(name));
+    }
+
+    @Benchmark
+    public boolean inventoryPickUpAndDrop() {
+        Item item = Item.fromName("Mind_stone");
+        inventory.add(item);
+        return inventory.contains(item) && inventory.remove(item);
+    }
+}
@@ -0,0 +1,71 @@
+package com.palehorsestudios.ard.characters;
+
+import com.palehorsestudios.ard.environment.Item;
+import com.palehorsestudios.ard.environment.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player.pickUpItem as the pickup command calls it, by name. Each pick up is followed by a drop so the room keeps
+ * the item; the drop is timed on its own too, so it can be taken back out. The drop-only player picks the item up
+ * in a per-invocation setup, which JMH leaves out of the timing but which adds some noise at this scale, so read it
+ * next to pickUpAndDrop rather than on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerBenchmark {
+    Player player;
+
+    @Setup
+    public void setUp() {
+        Room room = new Room("a plain room", 0);
+        room.addItem(Item.Gas_mask);
+        player = PlayerFactory.createPlayer(room, new ArrayList<>(), "A");
+    }
+
+    @Benchmark
+    public String pickUpAndDrop() {
+        player.pickUpItem("Gas_mask");
+        return player.dropItem("Gas_mask");
+    }
+
+    /**
+     * A player of its own that holds the item before every call.
+     */
+    @State(Scope.Thread)
+    public static class Holding {
+        Player player;
+
+        @Setup
+        public void setUp() {
+            Room room = new Room("a plain room", 0);
+            room.addItem(Item.Gas_mask);
+            player = PlayerFactory.createPlayer(room, new ArrayList<>(), "A");
+        }
+
+        @Setup(Level.Invocation)
+        public void pickUp() {
+            player.pickUpItem("Gas_mask");
+        }
+    }
+
+    @Benchmark
+    public String dropItem(Holding holding) {
+        return holding.player.dropItem("Gas_mask");
+    }
+
+    @Benchmark
+    public String pickUpMissing() {
+        return player.pickUpItem("Mind_stone");
+    }
+}
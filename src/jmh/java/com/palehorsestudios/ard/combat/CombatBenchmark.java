@@ -0,0 +1,57 @@
+package com.palehorsestudios.ard.combat;
+
+import com.palehorsestudios.ard.characters.Monster;
+import com.palehorsestudios.ard.characters.MonsterFactory;
+import com.palehorsestudios.ard.characters.Player;
+import com.palehorsestudios.ard.characters.PlayerFactory;
+import com.palehorsestudios.ard.environment.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One strike by the player, as the fight command runs it: rendered to ANSI text, and recorded into a CombatLog only.
+ * The monster's life is topped up to Integer.MAX_VALUE every iteration so it never dies mid-run; the kill branch
+ * (level up, removing the monster) is not measured here.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CombatBenchmark {
+    Player player;
+    Monster monster;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Room room = new Room("a plain room", 0);
+        room.clearMonsters();
+        monster = MonsterFactory.createMonster();
+        room.addMonster(monster);
+        player = PlayerFactory.createPlayer(room, new ArrayList<>(), "A");
+    }
+
+    @Setup(Level.Iteration)
+    public void heal() {
+        monster.setLife(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public String fightRoomMonster() {
+        return combatEngine.fightRoomMonster(player);
+    }
+
+    @Benchmark
+    public CombatLog fightRoomMonsterLogged() {
+        CombatLog log = new CombatLog(player.getName());
+        combatEngine.fightRoomMonster(player, log);
+        return log;
+    }
+}
@@ -0,0 +1,175 @@
+package com.palehorsestudios.ard.environment;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one move on maps of 10^3 to 10^7 rooms: the int-indexed {@link RoomGraph} against the previous
+ * HashMap&lt;Room, Map&lt;Direction, Room&gt;&gt; layout. Both maps are built the way the game builds them (each new
+ * room hangs off a random existing room, linked both ways) and walked with the same random directions. The hashed
+ * layout stops at 10^6 rooms; at 10^7 it needs several GB of heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RoomGraphBenchmark {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int STEPS = 1 << 16;
+
+    /** Random directions to walk, the same sequence for both layouts. */
+    static Direction[] steps(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Direction[] result = new Direction[STEPS];
+        for (int i = 0; i < STEPS; i++) {
+            result[i] = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+        }
+        return result;
+    }
+
+    /** Picks a random room with a free slot and a random free direction, the shape RoomMap grows into. */
+    static int[] attachPoint(SplittableRandom random, RoomGraph graph) {
+        while (true) {
+            int room = random.nextInt(graph.size());
+            Direction direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            if (graph.neighbor(room, direction) == RoomGraph.NONE) {
+                return new int[]{room, direction.ordinal()};
+            }
+        }
+    }
+
+    static Direction flip(Direction direction) {
+        switch (direction) {
+            case North:
+                return Direction.South;
+            case South:
+                return Direction.North;
+            case West:
+                return Direction.East;
+            default:
+                return Direction.West;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Graph {
+        @Param({"1000", "10000", "100000", "1000000", "10000000"})
+        int rooms;
+
+        RoomGraph graph;
+        Direction[] steps;
+        int current;
+        int step;
+
+        @Setup
+        public void setUp() {
+            SplittableRandom random = new SplittableRandom(42);
+            graph = new RoomGraph(rooms);
+            graph.addRoom();
+            while (graph.size() < rooms) {
+                int[] at = attachPoint(random, graph);
+                Direction direction = DIRECTIONS[at[1]];
+                int added = graph.addRoom();
+                graph.link(at[0], direction, added);
+                graph.link(added, flip(direction), at[0]);
+            }
+            steps = steps(7);
+        }
+    }
+
+    /** Stand-in for Room with the same hashCode and equals, without generating a real room per node. */
+    static final class Node {
+        final String description;
+        final int id;
+
+        Node(String description, int id) {
+            this.description = description;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Node)) return false;
+            Node node = (Node) o;
+            return id == node.id && description.equals(node.description);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(description, id);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Hashed {
+        @Param({"1000", "10000", "100000", "1000000"})
+        int rooms;
+
+        Map<Node, Map<Direction, Node>> map;
+        Direction[] steps;
+        Node current;
+        int step;
+
+        @Setup
+        public void setUp() {
+            // grow the same shape as Graph, then copy it into the hashed layout
+            SplittableRandom random = new SplittableRandom(42);
+            RoomGraph shape = new RoomGraph(rooms);
+            shape.addRoom();
+            while (shape.size() < rooms) {
+                int[] at = attachPoint(random, shape);
+                Direction direction = DIRECTIONS[at[1]];
+                int added = shape.addRoom();
+                shape.link(at[0], direction, added);
+                shape.link(added, flip(direction), at[0]);
+            }
+            Node[] nodes = new Node[rooms];
+            for (int i = 0; i < rooms; i++) {
+                nodes[i] = new Node("A gentle raven sat on top of these calm chairs " + i + ".", i);
+            }
+            map = new HashMap<>();
+            for (int i = 0; i < rooms; i++) {
+                Map<Direction, Node> options = new HashMap<>();
+                for (Direction direction : DIRECTIONS) {
+                    int neighbor = shape.neighbor(i, direction);
+                    if (neighbor != RoomGraph.NONE) {
+                        options.put(direction, nodes[neighbor]);
+                    }
+                }
+                map.put(nodes[i], options);
+            }
+            current = nodes[0];
+            steps = steps(7);
+        }
+    }
+
+    @Benchmark
+    public int graph(Graph state) {
+        Direction direction = state.steps[state.step++ & (STEPS - 1)];
+        int next = state.graph.neighbor(state.current, direction);
+        if (next != RoomGraph.NONE) {
+            state.current = next;
+        }
+        return state.current;
+    }
+
+    @Benchmark
+    public Node hashed(Hashed state) {
+        Direction direction = state.steps[state.step++ & (STEPS - 1)];
+        state.current = state.map.get(state.current).getOrDefault(direction, state.current);
+        return state.current;
+    }
+}
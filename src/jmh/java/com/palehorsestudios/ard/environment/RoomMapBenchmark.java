@@ -0,0 +1,48 @@
+package com.palehorsestudios.ard.environment;
+
+import com.palehorsestudios.ard.characters.Player;
+import com.palehorsestudios.ard.characters.PlayerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A move between two rooms that already exist, and the room info sent with every /stat, /nav and changed /turn.
+ * Moving into new rooms is left to RoomGraphBenchmark and the room pool, since each one grows the map for good.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoomMapBenchmark {
+    RoomMap map;
+    Player player;
+    boolean north;
+
+    @Setup
+    public void setUp() {
+        map = new RoomMap();
+        player = PlayerFactory.createPlayer(map.getStart(), new ArrayList<>(), "A");
+        map.moveCharacter(player, Direction.North); // make the room to bounce to
+    }
+
+    @Benchmark
+    public Room moveCharacter() {
+        map.moveCharacter(player, north ? Direction.North : Direction.South);
+        north = !north;
+        return player.getCurrentRoom();
+    }
+
+    @Benchmark
+    public List<Map<String, String>> getRoomInfo() {
+        return player.getCurrentRoom().getRoomInfo();
+    }
+}
@@ -0,0 +1,84 @@
+package com.palehorsestudios.ard.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Room description generation with the compiled grammar versus the previous recursive, string-splitting generator
+ * (kept below as {@link Recursive} so both run against the same rules).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GrammarBenchmark {
+    Grammar compiled;
+    Recursive recursive;
+
+    @Setup
+    public void setUp() throws IOException {
+        compiled = new Grammar();
+        recursive = new Recursive();
+    }
+
+    @Benchmark
+    public String compiled() {
+        return compiled.generate_Sentence();
+    }
+
+    @Benchmark
+    public String recursive() {
+        return recursive.generate_Sentence();
+    }
+
+    /**
+     * The generator as it was before the rules were compiled: recursive expansion, a split per production, a joined
+     * String per level and two regex passes at the end.
+     */
+    static class Recursive {
+        private final Map<String, List<String>> grammar = new HashMap<>();
+
+        Recursive() throws IOException {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ClassPathResource("grammar/dungeon_grammar.txt").getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] rules = line.split("::=");
+                    if (rules.length > 1) {
+                        grammar.put(rules[0].strip(), Arrays.stream(rules[1].split("[|]"))
+                                .map(String::strip).collect(Collectors.toList()));
+                    }
+                }
+            }
+        }
+
+        String generate_Sentence() {
+            String s = generate("<sentence>").replaceAll(" ,", ",")
+                    .replaceAll("a ([a,e,i,o,u])", "an $1");
+            return s.substring(0, 1).toUpperCase() + s.substring(1) + ".";
+        }
+
+        private String generate(String symbol) {
+            List<String> values = grammar.get(symbol);
+            String value = values.get(ThreadLocalRandom.current().nextInt(values.size()));
+            return Arrays.stream(value.split(" "))
+                    .map(e -> grammar.containsKey(e) ? generate(e) : e)
+                    .collect(Collectors.joining(" "));
+        }
+    }
+}
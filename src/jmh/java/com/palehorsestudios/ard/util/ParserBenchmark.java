@@ -0,0 +1,41 @@
+package com.palehorsestudios.ard.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing player input: the full CommandParser, the word array TextParser still hands out on top of it, and the
+ * synonym lookup on its own. Inputs rotate through valid commands, synonyms and junk so no single branch is timed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+    private static final String[] COMMANDS = {"move north", "walk   South", "pickup gas_mask", "grab all",
+            "fight monster", "look around", "use power", "unlock chest", "dance wildly", "move", "go sideways", ""};
+    private static final String[] WORDS = {"move", "walk", "go", "pickup", "grab", "fight", "attack", "look",
+            "dance", "north", "Move", "unlock"};
+
+    int next;
+
+    @Benchmark
+    public ParsedCommand commandParser() {
+        return CommandParser.parse(COMMANDS[next++ % COMMANDS.length]);
+    }
+
+    @Benchmark
+    public String[] textParser() {
+        return TextParser.parser(COMMANDS[next++ % COMMANDS.length]);
+    }
+
+    @Benchmark
+    public String verbSynonyms() {
+        return InputValidation.VERB_SYNONYMS(WORDS[next++ % WORDS.length]);
+    }
+}
@@ -0,0 +1,306 @@
+package com.palehorsestudios.ard;
+
+import com.palehorsestudios.ard.util.ContentCatalog;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator for the HTTP API. Starts the application on a free port with the embedded profile (or targets a
+ * running node given url=...), then has N virtual players play concurrently, each with its own cookie jar and so its
+ * own session, through the same flow as the browser client: / to start a game, /character/{c}, then a mix of
+ * /command, /nav and /answer calls with think time between them, and /score/{name} once the game is over or the
+ * command budget is spent.
+ * <p>
+ * Run with e.g. gradle loadTest --args='players=200 games=5 commands=40 think=50 mix=command:6,nav:3,answer:1'. It
+ * reports, per endpoint, requests, errors, requests per second and latency percentiles. Players wait for each other
+ * after their warm-up games, so the measured run starts at once for all of them. Latencies are kept per player and
+ * only merged at the end, so recording them adds no contention between players.
+ */
+public final class LoadTest {
+  private static final String[] COMMANDS = {"move north", "move south", "move east", "move west", "look around",
+      "look me", "pickup all", "fight monster", "unlock chest", "use power", "drop gas_mask"};
+  private static final String[] STEPS = {"up", "down", "left", "right"};
+  private static final String[] ANSWERS = {"a", "b", "c", "yes", "no", "42"};
+  private static final String[] CHARACTERS = {"A", "B"};
+
+  private final HttpClient client;
+  private final String base;
+  private final Settings settings;
+  private final SplittableRandom random;
+  private final CyclicBarrier warmedUp; // tripped once every player is done warming up
+  private final Map<String, Stats> stats = new LinkedHashMap<>(); // by endpoint, this player's only
+  private boolean recording;
+
+  private LoadTest(String base, Settings settings, SplittableRandom random, CyclicBarrier warmedUp) {
+    this.client = HttpClient.newBuilder()
+        .cookieHandler(new CookieManager())
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    this.base = base;
+    this.settings = settings;
+    this.random = random;
+    this.warmedUp = warmedUp;
+  }
+
+  /**
+   * What the run does. Every field can be set on the command line as name=value.
+   */
+  static final class Settings {
+    String url = "";       // node to load, empty to start one in this JVM
+    int players = 50;      // concurrent virtual players
+    int games = 5;         // games each player plays, after warm-up
+    int warmup = 1;        // games each player plays first, not counted
+    int commands = 30;     // most commands per game before submitting the score
+    long think = 100;      // mean millis between a player's requests, uniform in [0, 2 * think]
+    int[] mix = {6, 3, 1}; // relative weights of command, nav and answer
+    long seed = System.nanoTime();
+
+    static Settings parse(String[] args) throws IllegalArgumentException {
+      Settings settings = new Settings();
+      for (String arg : args) {
+        String[] pair = arg.split("=", 2);
+        if (pair.length != 2) {
+          throw new IllegalArgumentException("expected name=value, got " + arg);
+        }
+        String value = pair[1];
+        switch (pair[0]) {
+          case "url":
+            settings.url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+            break;
+          case "players":
+            settings.players = Integer.parseInt(value);
+            break;
+          case "games":
+            settings.games = Integer.parseInt(value);
+            break;
+          case "warmup":
+            settings.warmup = Integer.parseInt(value);
+            break;
+          case "commands":
+            settings.commands = Integer.parseInt(value);
+            break;
+          case "think":
+            settings.think = Long.parseLong(value);
+            break;
+          case "mix":
+            settings.mix = parseMix(value);
+            break;
+          case "seed":
+            settings.seed = Long.parseLong(value);
+            break;
+          default:
+            throw new IllegalArgumentException("unknown setting " + pair[0]);
+        }
+      }
+      return settings;
+    }
+
+    private static int[] parseMix(String value) throws IllegalArgumentException {
+      int[] mix = new int[3];
+      for (String part : value.split(",")) {
+        String[] weight = part.split(":", 2);
+        int index = Arrays.asList("command", "nav", "answer").indexOf(weight[0]);
+        if (index < 0 || weight.length != 2) {
+          throw new IllegalArgumentException("bad mix entry " + part + ", expected command:N, nav:N or answer:N");
+        }
+        mix[index] = Integer.parseInt(weight[1]);
+      }
+      if (mix[0] + mix[1] + mix[2] <= 0) {
+        throw new IllegalArgumentException("mix has no weight");
+      }
+      return mix;
+    }
+  }
+
+  /**
+   * Latencies and errors for one endpoint.
+   */
+  static final class Stats {
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    void add(long nanos, boolean failed) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = nanos;
+      if (failed) {
+        errors++;
+      }
+    }
+
+    void merge(Stats other) {
+      for (int i = 0; i < other.count; i++) {
+        add(other.latencies[i], false);
+      }
+      errors += other.errors;
+    }
+
+    long percentile(double p) {
+      return latencies[Math.min(count - 1, (int) (p * count))];
+    }
+  }
+
+  private Void play() throws InterruptedException, BrokenBarrierException {
+    for (int game = 0; game < settings.warmup; game++) {
+      playGame();
+    }
+    warmedUp.await();
+    recording = true;
+    for (int game = 0; game < settings.games; game++) {
+      playGame();
+    }
+    return null;
+  }
+
+  private void playGame() {
+    call("/", "/");
+    call("character", "/character/" + pick(CHARACTERS));
+    int total = settings.mix[0] + settings.mix[1] + settings.mix[2];
+    for (int i = 0; i < settings.commands; i++) {
+      think();
+      int roll = random.nextInt(total);
+      String body;
+      if (roll < settings.mix[0]) {
+        body = call("command", "/command/" + pick(COMMANDS).replace(" ", "%20"));
+      } else if (roll < settings.mix[0] + settings.mix[1]) {
+        body = call("nav", "/nav/" + pick(STEPS));
+      } else {
+        body = call("answer", "/answer/" + pick(ANSWERS));
+      }
+      if (body.contains("\"gameOver\":true")) {
+        break;
+      }
+    }
+    think();
+    call("score", "/score/player" + random.nextInt(1_000_000));
+  }
+
+  /**
+   * Sends one GET and records how long it took under the endpoint's name. Any status other than 200, or any
+   * exception, counts as an error.
+   *
+   * @return the response body, empty on error
+   */
+  private String call(String endpoint, String path) {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+        .timeout(Duration.ofSeconds(30))
+        .GET()
+        .build();
+    long start = System.nanoTime();
+    String body = "";
+    boolean failed;
+    try {
+      HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+      failed = response.statusCode() != 200;
+      body = response.body();
+    } catch (IOException e) {
+      failed = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failed = true;
+    }
+    long took = System.nanoTime() - start;
+    if (recording) {
+      stats.computeIfAbsent(endpoint, name -> new Stats()).add(took, failed);
+    }
+    return body;
+  }
+
+  private void think() {
+    if (settings.think <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(random.nextLong(2 * settings.think + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private String pick(String[] options) {
+    return options[random.nextInt(options.length)];
+  }
+
+  public static void main(String[] args) throws Exception {
+    Settings settings;
+    try {
+      settings = Settings.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.out.println(e.getMessage());
+      System.out.println("usage: LoadTest [url=http://host:port] [players=N] [games=N] [warmup=N] [commands=N] "
+          + "[think=MILLIS] [mix=command:N,nav:N,answer:N] [seed=N]");
+      return;
+    }
+
+    ConfigurableApplicationContext context = null;
+    String base = settings.url;
+    if (base.isEmpty()) {
+      ContentCatalog.get();
+      context = SpringApplication.run(ArdApplication.class, "--server.port=0", "--spring.profiles.active=embedded",
+          "--ard.session.snapshot=", "--ard.journal.dir=");
+      base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    SplittableRandom seeds = new SplittableRandom(settings.seed);
+    AtomicLong start = new AtomicLong();
+    CyclicBarrier warmedUp = new CyclicBarrier(settings.players, () -> start.set(System.nanoTime()));
+    List<LoadTest> players = new ArrayList<>();
+    for (int i = 0; i < settings.players; i++) {
+      players.add(new LoadTest(base, settings, seeds.split(), warmedUp));
+    }
+    ExecutorService pool = Executors.newFixedThreadPool(settings.players);
+    List<Future<?>> running = new ArrayList<>();
+    for (LoadTest player : players) {
+      running.add(pool.submit(player::play));
+    }
+    for (Future<?> player : running) {
+      player.get();
+    }
+    double seconds = (System.nanoTime() - start.get()) / 1e9;
+    pool.shutdown();
+    if (context != null) {
+      context.close();
+    }
+
+    Map<String, Stats> totals = new LinkedHashMap<>();
+    for (LoadTest player : players) {
+      player.stats.forEach((endpoint, stats) -> totals.computeIfAbsent(endpoint, name -> new Stats()).merge(stats));
+    }
+    long requests = 0;
+    System.out.printf("%d players, %d games each (+%d warm-up), think %d ms, %.1f s%n", settings.players,
+        settings.games, settings.warmup, settings.think, seconds);
+    System.out.printf("%-10s %9s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms",
+        "p99 ms", "p99.9 ms", "max ms");
+    for (Map.Entry<String, Stats> entry : totals.entrySet()) {
+      Stats stats = entry.getValue();
+      Arrays.sort(stats.latencies, 0, stats.count);
+      requests += stats.count;
+      System.out.printf("%-10s %9d %6.2f%% %9.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), stats.count,
+          100.0 * stats.errors / stats.count, stats.count / seconds, stats.percentile(0.5) / 1e6,
+          stats.percentile(0.99) / 1e6, stats.percentile(0.999) / 1e6, stats.latencies[stats.count - 1] / 1e6);
+    }
+    System.out.printf("%-10s %9d %17.1f%n", "total", requests, requests / seconds);
+  }
+}
@@ -1,27 +1,40 @@
 package com.palehorsestudios.ard;
 
-import com.palehorsestudios.ard.characters.PlayerFactory;
 import com.palehorsestudios.ard.util.ConsoleManager;
+import com.palehorsestudios.ard.util.HelpMenu;
 import com.palehorsestudios.ard.util.InvalidInputException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.view.RedirectView;
 
-import java.util.ArrayList;
+import javax.servlet.http.HttpSession;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.palehorsestudios.ard.util.InputValidation.VALIDATE_CHARACTER_SELECTION;
 
 @Controller
 public class ApplicationController {
-  private Game game;
+  // help only changes with a deploy; after this long clients revalidate with If-None-Match and usually get a 304
+  private static final CacheControl HELP_CACHE = CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic();
 
   @Autowired
-  ScoreRepository scoreRepository;
+  GameRegistry gameRegistry;
+
+  @Autowired
+  Leaderboard leaderboard;
+
+  @Autowired
+  GameMetrics metrics;
 
   @GetMapping("/")
-  public String getHome() {
-    game = new Game();
+  public String getHome(HttpSession session) {
+    gameRegistry.reset(session.getId());
     return "index";
   }
 
@@ -34,80 +47,145 @@ public class ApplicationController {
     return responseBuilder.response(ConsoleManager.gameIntro()).build();
   }
 
-  @GetMapping(path = "/stat", produces = "application/json")
+  /**
+   * The whole help menu as one precomputed JSON document, with an ETag.
+   */
+  @GetMapping(path = "/help", produces = "application/json")
   @ResponseBody
-  public Response getStatus() {
-    Response.Builder responseBuilder = new Response.Builder();
-    responseBuilder.playerInfo(game.getPlayer().getPlayerInfo());
+  public ResponseEntity<byte[]> getHelp(@RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+    return help(HelpMenu.get().document(), ifNoneMatch);
+  }
+
+  /**
+   * One help topic by id, with the ids and titles of its subtopics.
+   */
+  @GetMapping(path = "/help/{id}", produces = "application/json")
+  @ResponseBody
+  public ResponseEntity<byte[]> getHelpTopic(@PathVariable int id,
+                                             @RequestHeader(name = "If-None-Match", required = false)
+                                                 String ifNoneMatch) {
     try {
-      responseBuilder.roomInfo(game.getPlayer().getCurrentRoom().getRoomInfo());
-    } catch(NullPointerException e) {
-      e.printStackTrace();
+      return help(HelpMenu.get().node(id), ifNoneMatch);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
     }
-    responseBuilder.getRoom(game.getPlayer().getCurrentRoom());
-    return responseBuilder.build();
+  }
+
+  private static ResponseEntity<byte[]> help(byte[] document, String ifNoneMatch) {
+    HelpMenu menu = HelpMenu.get();
+    if (menu.matches(ifNoneMatch)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(menu.etag()).cacheControl(HELP_CACHE).build();
+    }
+    return ResponseEntity.ok().eTag(menu.etag()).cacheControl(HELP_CACHE).body(document);
+  }
+
+  @GetMapping(path = "/stat", produces = "application/json")
+  @ResponseBody
+  public CompletableFuture<Response> getStatus(HttpSession session) {
+    return gameRegistry.submit(session.getId(), game -> {
+      Response.Builder responseBuilder = new Response.Builder();
+      responseBuilder.playerInfo(game.getPlayer().getPlayerInfo());
+      try {
+        responseBuilder.roomInfo(game.getPlayer().getCurrentRoom().getRoomInfo());
+      } catch(NullPointerException e) {
+        e.printStackTrace();
+      }
+      responseBuilder.getRoom(game.getPlayer().getCurrentRoom());
+      return responseBuilder.build();
+    });
   }
 
   @GetMapping(path = "/command/{cmd}", produces = "application/json")
   @ResponseBody
-  public Response doCommand(@PathVariable String cmd) {
-    return game.play(cmd);
+  public CompletableFuture<Response> doCommand(@PathVariable String cmd, HttpSession session) {
+    return gameRegistry.submit(session.getId(), game -> metrics.turn(game, cmd).build());
   }
 
-  @GetMapping(path = "/character/{character}", produces = "application/json")
+  /**
+   * Runs a command and returns its outcome together with whatever player and room state changed since the version
+   * the client last acknowledged, saving the follow-up call to /stat.
+   */
+  @GetMapping(path = "/turn/{cmd}", produces = "application/json")
   @ResponseBody
-  public Response selectCharacter(@PathVariable String character) {
-    Response.Builder responseBuilder = new Response.Builder();
-    // DONE: Needs character input validation
-    try {
-      String selection = VALIDATE_CHARACTER_SELECTION(character);
-      game.setPlayer(PlayerFactory.createPlayer(game.getGameMap().getStart(), new ArrayList<>(), selection));
-      responseBuilder.response(game.getPlayer().getName().concat(" is a great choice."));
-    } catch (InvalidInputException e) {
-      responseBuilder.characterSelected(true);
-      responseBuilder.response(e.getMessage());
-    }
+  public CompletableFuture<Response> takeTurn(@PathVariable String cmd,
+                                              @RequestParam(name = "ack", defaultValue = "0") long ack,
+                                              HttpSession session) {
+    GameSession gameSession = gameRegistry.resolve(session.getId());
+    return gameSession.submit(game -> gameSession.getTurns().respond(game, metrics.turn(game, cmd), ack));
+  }
 
-    return responseBuilder.build();
+  @GetMapping(path = "/character/{character}", produces = "application/json")
+  @ResponseBody
+  public CompletableFuture<Response> selectCharacter(@PathVariable String character, HttpSession session) {
+    return gameRegistry.submit(session.getId(), game -> {
+      Response.Builder responseBuilder = new Response.Builder();
+      // DONE: Needs character input validation
+      try {
+        String selection = VALIDATE_CHARACTER_SELECTION(character);
+        responseBuilder.response(metrics.character(() -> game.selectCharacter(selection)));
+      } catch (InvalidInputException e) {
+        responseBuilder.characterSelected(true);
+        responseBuilder.response(e.getMessage());
+      }
+
+      return responseBuilder.build();
+    });
   }
 
   @GetMapping(path = "/answer/{answer}", produces = "application/json")
   @ResponseBody
-  public Response evaluateAnswer(@PathVariable String answer) {
-    Response.Builder responseBuilder = new Response.Builder();
-    responseBuilder.response(game.getPlayer().getCurrentRoom().submitAnswer(answer));
-    return responseBuilder.build();
+  public CompletableFuture<Response> evaluateAnswer(@PathVariable String answer, HttpSession session) {
+    return gameRegistry.submit(session.getId(), game -> {
+      Response.Builder responseBuilder = new Response.Builder();
+      responseBuilder.response(metrics.answer(() -> game.answer(answer)));
+      return responseBuilder.build();
+    });
   }
 
   @GetMapping(path = "/score/{name}", produces = "application/json")
   @ResponseBody
-  public Response keepScore(@PathVariable String name) {
-    Response.Builder responseBuilder = new Response.Builder();
-    game.saveScore(name, scoreRepository);
-    responseBuilder.response(game.getScores(scoreRepository));
-    responseBuilder.gameOver(true);
-    return responseBuilder.build();
+  public CompletableFuture<Response> keepScore(@PathVariable String name, HttpSession session) {
+    // the score is taken in the session's mailbox, but recorded off it, so no mailbox worker waits on the journal
+    return gameRegistry.submit(session.getId(), game -> game.finalScore(name))
+        .thenCompose(leaderboard::submit)
+        .thenApply(page -> {
+          Response.Builder responseBuilder = new Response.Builder();
+          responseBuilder.response(page.toText());
+          responseBuilder.gameOver(true);
+          return responseBuilder.build();
+        });
   }
 
-  @GetMapping(path = "/nav/{direction}", produces = "application/json")
+  @GetMapping(path = "/leaderboard", produces = "application/json")
   @ResponseBody
-  public Response navigate(@PathVariable String direction) {
-    Response.Builder responseBuilder = new Response.Builder();
-    if (!game.getPlayer().setCoord(direction)) {
-      responseBuilder.response("Banging my head against a wall...");
-
-    } else {
-      responseBuilder.response("Moving " + direction);
+  public LeaderboardPage getLeaderboard(@RequestParam(name = "limit", defaultValue = "10") int limit,
+                                        @RequestParam(name = "after", required = false) String after) {
+    if (after == null) {
+      return leaderboard.top(limit);
     }
-    responseBuilder.playerInfo(game.getPlayer().getPlayerInfo());
-    responseBuilder.roomInfo(game.getPlayer().getCurrentRoom().getRoomInfo());
-    responseBuilder.getRoom(game.getPlayer().getCurrentRoom());
-    return responseBuilder.build();
+    try {
+      return leaderboard.after(after, limit);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+  }
+
+  @GetMapping(path = "/nav/{direction}", produces = "application/json")
+  @ResponseBody
+  public CompletableFuture<Response> navigate(@PathVariable String direction, HttpSession session) {
+    return gameRegistry.submit(session.getId(), game -> {
+      Response.Builder responseBuilder = new Response.Builder();
+      responseBuilder.response(metrics.nav(() -> game.navigate(direction)));
+      responseBuilder.playerInfo(game.getPlayer().getPlayerInfo());
+      responseBuilder.roomInfo(game.getPlayer().getCurrentRoom().getRoomInfo());
+      responseBuilder.getRoom(game.getPlayer().getCurrentRoom());
+      return responseBuilder.build();
+    });
   }
 
   @GetMapping(path = "/playAgain")
-  public String playAgain() {
-    game = new Game();
+  public String playAgain(HttpSession session) {
+    gameRegistry.reset(session.getId());
     return "index";
   }
 
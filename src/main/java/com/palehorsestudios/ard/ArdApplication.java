@@ -1,11 +1,15 @@
 package com.palehorsestudios.ard;
 
+import com.palehorsestudios.ard.util.ContentCatalog;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ArdApplication {
 	public static void main(String[] args) {
+		ContentCatalog.get(); // load all game content before the first player connects
 		SpringApplication.run(ArdApplication.class, args);
 	}
 }
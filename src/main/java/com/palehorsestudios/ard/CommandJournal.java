@@ -0,0 +1,259 @@
+package com.palehorsestudios.ard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Append-only log of everything that changed one game: the game's seed, then one entry per state-changing command
+ * with the seed its rolls were drawn from and whether it went through. Replaying the entries against a new Game with
+ * the same seed rebuilds the game exactly, and a command whose outcome differs from the recorded one shows where the
+ * replay diverged; see CommandReplay.
+ * <p>
+ * The file is memory-mapped a chunk at a time, so an append is a few puts into the page cache and no system call.
+ * Entries survive the process dying, though not the machine; close forces them out and trims the unused tail of the
+ * last chunk. Layout: magic "ARDJ", int version, long seed, long start millis, then per entry int length, byte kind,
+ * byte outcome, long seed, int code, int text length (-1 for null) and the text's UTF-8 bytes. A zero length marks
+ * the end. An entry is appended before its command runs, as pending, and its outcome byte is filled in once the
+ * command returns or throws, so a command that brought the process down is still on record.
+ */
+final class CommandJournal implements AutoCloseable {
+  static final int VERSION = 2;
+  private static final byte[] MAGIC = {'A', 'R', 'D', 'J'};
+  private static final int HEADER = MAGIC.length + Integer.BYTES + 2 * Long.BYTES;
+  private static final int CHUNK = 64 * 1024;
+
+  /**
+   * What an entry records.
+   */
+  enum Kind {
+    CHARACTER, // character picked; text is the validated selection
+    TURN,      // parsed command; code is status ordinal << 8 | verb ordinal (0xFF for none), text the option
+    ANSWER,    // answer to a chest's question
+    NAV        // step within the room
+  }
+
+  /**
+   * How a recorded command ended.
+   */
+  enum Outcome {
+    PENDING, // still running, or the process died while it ran
+    OK,      // returned
+    FAILED   // threw
+  }
+
+  /**
+   * One recorded command.
+   */
+  static final class Entry {
+    final Kind kind;
+    final long seed;
+    final int code;
+    final String text;
+    final Outcome outcome;
+
+    Entry(Kind kind, long seed, int code, String text, Outcome outcome) {
+      this.kind = kind;
+      this.seed = seed;
+      this.code = code;
+      this.text = text;
+      this.outcome = outcome;
+    }
+
+    @Override
+    public String toString() {
+      return kind + " " + text + " (" + outcome.name().toLowerCase() + ")";
+    }
+  }
+
+  /**
+   * A journal read back from disk.
+   */
+  static final class Recording {
+    final long seed;
+    final long started;
+    final List<Entry> entries;
+
+    Recording(long seed, long started, List<Entry> entries) {
+      this.seed = seed;
+      this.started = started;
+      this.entries = Collections.unmodifiableList(entries);
+    }
+  }
+
+  private static final Logger log = LoggerFactory.getLogger(CommandJournal.class);
+  private static final Kind[] KINDS = Kind.values();
+  private static final Outcome[] OUTCOMES = Outcome.values();
+
+  private final Path path;
+  private final FileChannel channel;
+  private MappedByteBuffer buffer; // current chunk
+  private long chunkStart; // file offset of the current chunk
+  private int pending = -1; // index in the current chunk of the last entry's outcome byte, -1 once it is filled in
+  private boolean failed; // set after an I/O error; later appends are dropped
+
+  private CommandJournal(Path path, FileChannel channel) throws IOException {
+    this.path = path;
+    this.channel = channel;
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHUNK);
+  }
+
+  /**
+   * Creates a journal for a new game, replacing any file already there.
+   *
+   * @param path    journal file
+   * @param seed    the game's seed
+   * @param started when the game started, in millis
+   * @return the open journal
+   * @throws IOException if the file cannot be created
+   */
+  static CommandJournal create(Path path, long seed, long started) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    CommandJournal journal;
+    try {
+      journal = new CommandJournal(path, channel);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    journal.buffer.put(MAGIC).putInt(VERSION).putLong(seed).putLong(started);
+    return journal;
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  /**
+   * Appends an entry for a command about to run, as pending; see finish. An I/O error stops the journal rather than
+   * the game: it is reported once and every later append is dropped.
+   *
+   * @param kind what the entry records
+   * @param seed seed of the command's rolls
+   * @param code kind-specific number
+   * @param text kind-specific text, may be null
+   */
+  synchronized void append(Kind kind, long seed, int code, String text) {
+    if (failed || !channel.isOpen()) {
+      return;
+    }
+    byte[] utf8 = text == null ? null : text.getBytes(StandardCharsets.UTF_8);
+    int length = 2 + Long.BYTES + 2 * Integer.BYTES + (utf8 == null ? 0 : utf8.length);
+    try {
+      // keep room for the record plus a zero end marker
+      if (buffer.remaining() < Integer.BYTES + length + Integer.BYTES) {
+        chunkStart += buffer.position();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, chunkStart,
+            Math.max(CHUNK, Integer.BYTES + length + Integer.BYTES));
+      }
+    } catch (IOException e) {
+      failed = true;
+      log.error("Command journal {} stopped", path, e);
+      return;
+    }
+    buffer.putInt(length).put((byte) kind.ordinal());
+    pending = buffer.position();
+    buffer.put((byte) Outcome.PENDING.ordinal()).putLong(seed).putInt(code).putInt(utf8 == null ? -1 : utf8.length);
+    if (utf8 != null) {
+      buffer.put(utf8);
+    }
+  }
+
+  /**
+   * Records how the command of the last appended entry ended.
+   *
+   * @param ok true if it returned, false if it threw
+   */
+  synchronized void finish(boolean ok) {
+    if (pending < 0 || !channel.isOpen()) {
+      return;
+    }
+    buffer.put(pending, (byte) (ok ? Outcome.OK : Outcome.FAILED).ordinal());
+    pending = -1;
+  }
+
+  /**
+   * Forces the entries to disk, trims the file to what was written and closes it.
+   *
+   * @throws IOException if the file cannot be trimmed or closed
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (!channel.isOpen()) {
+      return;
+    }
+    try {
+      buffer.force();
+      channel.truncate(chunkStart + buffer.position());
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Reads a journal back. Reading stops at the end marker, or at a record cut short by a crash.
+   *
+   * @param path journal file
+   * @return the recording
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if the file is not a journal or is from another version
+   */
+  static Recording read(Path path) throws IOException, IllegalArgumentException {
+    ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+    if (in.remaining() < HEADER) {
+      throw new IllegalArgumentException("not a command journal: " + path);
+    }
+    byte[] magic = new byte[MAGIC.length];
+    in.get(magic);
+    int version = in.getInt();
+    if (!Arrays.equals(magic, MAGIC) || version != VERSION) {
+      throw new IllegalArgumentException("not a version " + VERSION + " command journal: " + path);
+    }
+    long seed = in.getLong();
+    long started = in.getLong();
+    List<Entry> entries = new ArrayList<>();
+    try {
+      while (in.remaining() >= Integer.BYTES) {
+        int length = in.getInt();
+        if (length <= 0 || length > in.remaining()) {
+          break;
+        }
+        ByteBuffer record = in.slice();
+        record.limit(length);
+        in.position(in.position() + length);
+        int kind = record.get();
+        int outcome = record.get();
+        long entrySeed = record.getLong();
+        int code = record.getInt();
+        int textLength = record.getInt();
+        String text = null;
+        if (textLength >= 0) {
+          byte[] utf8 = new byte[textLength];
+          record.get(utf8);
+          text = new String(utf8, StandardCharsets.UTF_8);
+        }
+        if (kind < 0 || kind >= KINDS.length || outcome < 0 || outcome >= OUTCOMES.length) {
+          break;
+        }
+        entries.add(new Entry(KINDS[kind], entrySeed, code, text, OUTCOMES[outcome]));
+      }
+    } catch (BufferUnderflowException e) {
+      // torn last record
+    }
+    return new Recording(seed, started, entries);
+  }
+}
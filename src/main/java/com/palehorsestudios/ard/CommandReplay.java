@@ -0,0 +1,120 @@
+package com.palehorsestudios.ard;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds games from their CommandJournals, and replays recorded traces as a benchmark workload. Replay runs the
+ * recorded commands straight against a Game, with no HTTP, sessions or mailboxes in the way.
+ * <p>
+ * Run with journal files or directories of them, e.g. gradle replayJournal --args='journals rounds=20'. It reports
+ * commands per second, per-command latency percentiles, the slowest command seen, which can then be reproduced by
+ * replaying its journal alone, and how many commands failed. Those failed live too; the game carries on past them.
+ * A command that ends differently from how it did live stops the run, naming the journal and entry where it diverged.
+ */
+public final class CommandReplay {
+
+  private CommandReplay() {
+  }
+
+  /**
+   * Rebuilds the recorded game. Commands that failed when they were recorded fail again and are skipped over.
+   *
+   * @param recording journal read back from disk
+   * @return the game as it stood after the last recorded command
+   * @throws IllegalArgumentException if an entry is malformed
+   * @throws IllegalStateException    if a command ends differently from how it did when it was recorded
+   */
+  static Game replay(CommandJournal.Recording recording) throws IllegalArgumentException, IllegalStateException {
+    Game game = new Game(recording.seed);
+    for (int i = 0; i < recording.entries.size(); i++) {
+      try {
+        game.replay(recording.entries.get(i));
+      } catch (IllegalStateException e) {
+        throw new IllegalStateException("#" + i + ": " + e.getMessage(), e);
+      }
+    }
+    return game;
+  }
+
+  public static void main(String[] args) throws IOException {
+    int rounds = 10;
+    List<Path> files = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.startsWith("rounds=")) {
+        rounds = Integer.parseInt(arg.substring("rounds=".length()));
+      } else if (Files.isDirectory(Paths.get(arg))) {
+        try (Stream<Path> journals = Files.list(Paths.get(arg))) {
+          files.addAll(journals.filter(path -> path.toString().endsWith(".journal")).sorted()
+              .collect(Collectors.toList()));
+        }
+      } else {
+        files.add(Paths.get(arg));
+      }
+    }
+    List<CommandJournal.Recording> recordings = new ArrayList<>();
+    int commands = 0;
+    for (Path file : files) {
+      CommandJournal.Recording recording = CommandJournal.read(file);
+      recordings.add(recording);
+      commands += recording.entries.size();
+    }
+    if (commands == 0) {
+      System.out.println("usage: CommandReplay <journal file or directory>... [rounds=N]");
+      return;
+    }
+
+    for (int i = 0; i < recordings.size(); i++) { // warm up, and check every journal replays as recorded
+      try {
+        replay(recordings.get(i));
+      } catch (IllegalStateException e) {
+        throw new IllegalStateException(files.get(i).getFileName() + " " + e.getMessage(), e);
+      }
+    }
+    long[] latencies = new long[commands * rounds];
+    int count = 0;
+    int failed = 0;
+    long slowest = 0;
+    String slowestAt = "";
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      for (int i = 0; i < recordings.size(); i++) {
+        CommandJournal.Recording recording = recordings.get(i);
+        Game game = new Game(recording.seed);
+        for (int j = 0; j < recording.entries.size(); j++) {
+          CommandJournal.Entry entry = recording.entries.get(j);
+          long before = System.nanoTime();
+          if (!game.replay(entry)) {
+            failed++;
+          }
+          long took = System.nanoTime() - before;
+          latencies[count++] = took;
+          if (took > slowest) {
+            slowest = took;
+            slowestAt = files.get(i).getFileName() + " #" + j + " (" + entry + ")";
+          }
+        }
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+
+    Arrays.sort(latencies);
+    System.out.printf("%d journals, %d commands, %d rounds%n", recordings.size(), commands, rounds);
+    System.out.printf("%.0f commands/s%n", count / (elapsed / 1e9));
+    System.out.printf("latency us: p50 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n", percentile(latencies, 0.5) / 1e3,
+        percentile(latencies, 0.99) / 1e3, percentile(latencies, 0.999) / 1e3, latencies[count - 1] / 1e3);
+    System.out.println("slowest: " + slowestAt);
+    System.out.printf("failed: %d of %d commands (as recorded)%n", failed, count);
+  }
+
+  private static long percentile(long[] sorted, double p) {
+    return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))];
+  }
+}
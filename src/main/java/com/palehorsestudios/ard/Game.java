@@ -3,58 +3,185 @@ package com.palehorsestudios.ard;
 import com.palehorsestudios.ard.characters.Monster;
 import com.palehorsestudios.ard.characters.MonsterFactory;
 import com.palehorsestudios.ard.characters.Player;
+import com.palehorsestudios.ard.characters.PlayerFactory;
+import com.palehorsestudios.ard.combat.Difficulty;
 import com.palehorsestudios.ard.combat.combatEngine;
 import com.palehorsestudios.ard.environment.Chest;
 import com.palehorsestudios.ard.environment.Direction;
 import com.palehorsestudios.ard.environment.Item;
 import com.palehorsestudios.ard.environment.RoomMap;
 import com.palehorsestudios.ard.util.Codes;
-import com.palehorsestudios.ard.util.ConsoleManager;
-import com.palehorsestudios.ard.util.TextParser;
-import org.springframework.data.domain.Sort;
+import com.palehorsestudios.ard.util.HelpMenu;
+import com.palehorsestudios.ard.util.Dice;
+import com.palehorsestudios.ard.util.CommandParser;
+import com.palehorsestudios.ard.util.ParsedCommand;
+import com.palehorsestudios.ard.util.SnapshotReader;
+import com.palehorsestudios.ard.util.SnapshotWriter;
+import com.palehorsestudios.ard.util.commands.Verb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
 
 public class Game {
+  private static final Logger log = LoggerFactory.getLogger(Game.class);
+
   private Player player; // player reference
   private RoomMap gameMap; // map of the rooms
   private Random random = new Random();
   private Monster boss; // boss monster reference
+  private final Difficulty difficulty; // this game's monster life curve and damage
+  private final SplittableRandom seeds; // seed for each command's rolls, null when the game isn't replayable
+  private CommandJournal journal; // where commands are recorded, null when they aren't
 
   // default constructor
   public Game() {
-    gameMap = new RoomMap();
+    difficulty = new Difficulty();
+    gameMap = new RoomMap(difficulty);
+    seeds = null;
+  }
+
+  /**
+   * Constructor for a replayable game. Every roll, from the starting room on, comes from the seed, so the same seed
+   * and the same commands (with the seeds handed out for them) always give the same game.
+   *
+   * @param seed the game's seed
+   */
+  Game(long seed) {
+    SplittableRandom seeds = new SplittableRandom(seed);
+    difficulty = new Difficulty();
+    gameMap = Dice.seeded(seeds.nextLong(), () -> new RoomMap(difficulty));
+    this.seeds = seeds;
+  }
+
+  // restores a game from a snapshot
+  private Game(Difficulty difficulty, RoomMap gameMap) {
+    this.difficulty = difficulty;
+    this.gameMap = gameMap;
+    seeds = null;
+  }
+
+  /**
+   * Starts recording this game's commands to the journal. Only a replayable game can be recorded.
+   *
+   * @param journal open journal, created with this game's seed
+   * @throws IllegalStateException if the game was not made with a seed
+   */
+  void record(CommandJournal journal) throws IllegalStateException {
+    if (seeds == null) {
+      throw new IllegalStateException("only a seeded game can be recorded");
+    }
+    this.journal = journal;
   }
 
-  // TODO: separate into save score and get scores methods
-  void saveScore(String name, ScoreRepository scoreRepository) {
+  CommandJournal getJournal() {
+    return journal;
+  }
+
+  /**
+   * Stops recording and closes the journal, if there is one.
+   */
+  void closeJournal() {
+    if (journal != null) {
+      try {
+        journal.close();
+      } catch (IOException e) {
+        log.warn("Could not close command journal {}", journal.getPath(), e);
+      }
+      journal = null;
+    }
+  }
+
+  /**
+   * Writes the whole game (difficulty, map, player and boss) to a session snapshot. The boss is written as where it
+   * stands, so it comes back as the same monster as the one in the room.
+   *
+   * @param out snapshot being written
+   */
+  void writeTo(SnapshotWriter out) {
+    out.writeSignedVarInt(difficulty.getMonsterStartingLife());
+    out.writeSignedVarInt(difficulty.getMonsterLifeStep());
+    out.writeSignedVarInt(difficulty.getMinDamage());
+    out.writeSignedVarInt(difficulty.getMaxDamage());
+    out.writeSignedVarInt(difficulty.getLifeReward());
+    gameMap.writeTo(out);
+    out.writeBoolean(player != null);
+    if (player != null) {
+      player.writeTo(out);
+    }
+
+    int bossRoom = -1;
+    int bossIndex = -1;
+    if (boss != null) {
+      for (int id = 0; id < gameMap.size() && bossIndex < 0; id++) {
+        bossIndex = gameMap.getRoom(id).getMonsters().indexOf(boss);
+        bossRoom = id;
+      }
+    }
+    if (boss == null) {
+      out.writeVarInt(0);
+    } else if (bossIndex >= 0) { // still standing in a room
+      out.writeVarInt(1);
+      out.writeVarInt(bossRoom);
+      out.writeVarInt(bossIndex);
+    } else { // defeated and gone from its room
+      out.writeVarInt(2);
+      boss.writeTo(out);
+    }
+  }
+
+  /**
+   * Reads back a game written by writeTo.
+   *
+   * @param in snapshot being read
+   * @return the game
+   * @throws IllegalArgumentException if the snapshot is malformed
+   */
+  static Game readFrom(SnapshotReader in) throws IllegalArgumentException {
+    Difficulty difficulty = new Difficulty(in.readSignedVarInt(), in.readSignedVarInt(), in.readSignedVarInt(),
+        in.readSignedVarInt(), in.readSignedVarInt());
+    Game game = new Game(difficulty, RoomMap.readFrom(in, difficulty));
+    if (in.readBoolean()) {
+      game.player = Player.readFrom(in, game.gameMap);
+    }
+    switch (in.readVarInt(3)) {
+      case 1:
+        List<Monster> monsters = game.gameMap.getRoom(in.readVarInt()).getMonsters();
+        int index = in.readVarInt();
+        if (index >= monsters.size()) {
+          throw new IllegalArgumentException("no boss at " + index);
+        }
+        game.boss = monsters.get(index);
+        break;
+      case 2:
+        game.boss = Monster.readFrom(in);
+        break;
+      default:
+        break;
+    }
+    return game;
+  }
+
+  /**
+   * Builds this game's final score for the leaderboard.
+   *
+   * @param name name the player entered
+   * @return unsaved score
+   */
+  Score finalScore(String name) {
     Score score = new Score();
     score.setDate(LocalDate.now());
     score.player_character = player.getName();
     score.name = name;
     score.score = player.getScore();
     score.level = player.getLevel();
-    scoreRepository.save(score);
-  }
-
-  String getScores(ScoreRepository scoreRepository) {
-    List<Score> allScores = scoreRepository.findAll(Sort.by(Sort.Direction.DESC, "score"));
-    StringBuilder sb = new StringBuilder();
-    for (Score s : allScores) {
-      sb.append(s.date)
-          .append(" ")
-          .append(s.name)
-          .append(" (")
-          .append(s.player_character)
-          .append(") : score - ")
-          .append(s.score)
-          .append(", level - ")
-          .append(s.level)
-          .append("\n");
-    }
-    return sb.toString();
+    return score;
   }
 
   public Player getPlayer() {
@@ -66,6 +193,10 @@ public class Game {
     this.player = player;
   }
 
+  public Difficulty getDifficulty() {
+    return difficulty;
+  }
+
   public RoomMap getGameMap() {
     return gameMap;
   }
@@ -77,49 +208,199 @@ public class Game {
    * @return
    */
   Response play(String cmd) {
-    String[] command = TextParser.parser(cmd);
+    return turn(cmd).build();
+  }
+
+  /**
+   * Runs the command like play, but hands back the builder so callers can attach more state before building.
+   *
+   * @param cmd raw command text
+   * @return builder holding the command's outcome
+   */
+  Response.Builder turn(String cmd) {
+    return turn(CommandParser.parse(cmd));
+  }
+
+  /**
+   * Carries out an already parsed command.
+   *
+   * @param command parsed player input
+   * @return builder holding the command's outcome
+   */
+  Response.Builder turn(ParsedCommand command) {
+    Verb verb = command.getVerb();
+    int code = command.getStatus().ordinal() << 8 | (verb == null ? 0xFF : verb.ordinal());
+    return step(CommandJournal.Kind.TURN, code, command.getOption(), () -> carryOut(command));
+  }
+
+  /**
+   * Gives the player the selected character, standing in the starting room.
+   *
+   * @param selection validated character option
+   * @return what to tell the player
+   */
+  String selectCharacter(String selection) {
+    return step(CommandJournal.Kind.CHARACTER, 0, selection, () -> chooseCharacter(selection));
+  }
+
+  /**
+   * Answers the question of the chest in the player's room.
+   *
+   * @param answer the player's answer
+   * @return what happened
+   */
+  String answer(String answer) {
+    return step(CommandJournal.Kind.ANSWER, 0, answer, () -> player.getCurrentRoom().submitAnswer(answer));
+  }
+
+  /**
+   * Takes one step within the player's room.
+   *
+   * @param direction up, down, left or right
+   * @return what happened
+   */
+  String navigate(String direction) {
+    return step(CommandJournal.Kind.NAV, 0, direction, () -> player.navigate(direction));
+  }
+
+  /**
+   * Runs a recorded entry again, with the seed it was recorded with, and checks it ends the way it did live. An entry
+   * may be one that failed live (e.g. an answer in a room without a chest); it has to fail the same way here, leaving
+   * the game as the live failure did, and the game carries on. An entry still pending is the command that was running
+   * when the recording stopped, so whatever it throws is passed on.
+   *
+   * @param entry entry from this game's journal, in order
+   * @return false if the command threw, as it did when it was recorded
+   * @throws IllegalArgumentException if the entry is malformed
+   * @throws IllegalStateException    if the command returned where it threw live, or the other way round
+   */
+  boolean replay(CommandJournal.Entry entry) throws IllegalArgumentException, IllegalStateException {
+    if (seeds != null) {
+      seeds.nextLong(); // stay in step with the recording, for commands after the replay
+    }
+    Supplier<Object> action;
+    switch (entry.kind) {
+      case CHARACTER:
+        action = () -> chooseCharacter(entry.text);
+        break;
+      case TURN:
+        ParsedCommand command = recordedCommand(entry);
+        action = () -> carryOut(command);
+        break;
+      case ANSWER:
+        action = () -> player.getCurrentRoom().submitAnswer(entry.text);
+        break;
+      default:
+        action = () -> player.navigate(entry.text);
+        break;
+    }
+    if (entry.outcome == CommandJournal.Outcome.PENDING) {
+      Dice.seeded(entry.seed, action);
+      return true;
+    }
+    try {
+      Dice.seeded(entry.seed, action);
+    } catch (RuntimeException e) {
+      if (entry.outcome == CommandJournal.Outcome.OK) {
+        throw new IllegalStateException("replay diverged at " + entry + ": it threw " + e, e);
+      }
+      return false;
+    }
+    if (entry.outcome == CommandJournal.Outcome.FAILED) {
+      throw new IllegalStateException("replay diverged at " + entry + ": it went through");
+    }
+    return true;
+  }
+
+  /**
+   * Decodes the parse outcome a TURN entry was recorded with, see turn(ParsedCommand).
+   *
+   * @throws IllegalArgumentException if the status or verb is out of range
+   */
+  private static ParsedCommand recordedCommand(CommandJournal.Entry entry) throws IllegalArgumentException {
+    int status = entry.code >>> 8;
+    int verb = entry.code & 0xFF;
+    if (status >= ParsedCommand.Status.values().length || (verb != 0xFF && verb >= Verb.values().length)) {
+      throw new IllegalArgumentException("malformed command code " + Integer.toHexString(entry.code));
+    }
+    return ParsedCommand.of(ParsedCommand.Status.values()[status], verb == 0xFF ? null : Verb.values()[verb],
+        entry.text);
+  }
+
+  /**
+   * Runs one state-changing command. In a replayable game the command gets the next seed, is journaled if the game
+   * is being recorded, and draws its rolls from that seed; the journal then gets whether it returned or threw.
+   */
+  private <T> T step(CommandJournal.Kind kind, int code, String text, Supplier<T> action) {
+    if (seeds == null) {
+      return action.get();
+    }
+    long seed = seeds.nextLong();
+    if (journal == null) {
+      return Dice.seeded(seed, action);
+    }
+    journal.append(kind, seed, code, text);
+    boolean ok = false;
+    try {
+      T result = Dice.seeded(seed, action);
+      ok = true;
+      return result;
+    } finally {
+      journal.finish(ok);
+    }
+  }
+
+  private String chooseCharacter(String selection) {
+    setPlayer(PlayerFactory.createPlayer(getGameMap().getStart(), new ArrayList<>(), selection));
+    return getPlayer().getName().concat(" is a great choice.");
+  }
+
+  private Response.Builder carryOut(ParsedCommand command) {
     Response.Builder responseBuilder = new Response.Builder();
 
-    if (command.length >= 2) {
-      switch (command[0]) {
-        case "move":
+    if (command.isValid()) {
+      String option = command.getOption();
+      switch (command.getVerb()) {
+        case MOVE:
           int size = getGameMap().size();
-          getGameMap().moveCharacter(getPlayer(), Direction.valueOf(command[1]));
-          responseBuilder.response("Moved " + Direction.valueOf(command[1]) + ".");
+          getGameMap().moveCharacter(getPlayer(), Direction.valueOf(option));
+          responseBuilder.response("Moved " + option + ".");
           increaseScore(size);
           break;
-        case "look":
-          responseBuilder.response(Look(getPlayer(), command[1]));
+        case LOOK:
+          responseBuilder.response(Look(getPlayer(), option));
           break;
-        case "drop":
-          responseBuilder.response(getPlayer().dropItem(command[1]));
+        case DROP:
+          responseBuilder.response(getPlayer().dropItem(option));
           break;
-        case "help":
-          responseBuilder.response(ConsoleManager.gameExplanation());
+        case HELP:
+          responseBuilder.response(HelpMenu.get().text());
           break;
-        case "unlock":
+        case UNLOCK:
           Chest chest = getPlayer().getCurrentRoom().getChest();
           if (chest != null && !chest.isBroken()) {
             responseBuilder.isQuestion(true);
           }
           responseBuilder.response(unlockChest(getPlayer()));
           break;
-        case "use":
-          responseBuilder.response(UsePower(getPlayer(), command[1]));
+        case USE:
+          responseBuilder.response(UsePower(getPlayer(), option));
           break;
-        case "flight":
-          responseBuilder.response(Flight(getPlayer(), command[1]));
+        case FLIGHT:
+          responseBuilder.response(Flight(getPlayer(), option));
           break;
-        case "fight":
-          responseBuilder.response(Fight(getPlayer(), command[1]));
+        case FIGHT:
+          responseBuilder.response(Fight(getPlayer(), option));
           break;
-        case "pickup":
-          responseBuilder.response(getPlayer().pickUpItem(command[1]));
+        case PICKUP:
+          responseBuilder.response(getPlayer().pickUpItem(option));
           break;
         default:
           responseBuilder.response("Invalid command. Try again.");
           break;
       }
+    } else if (command.getStatus() == ParsedCommand.Status.INVALID_OPTION) {
+      responseBuilder.response(command.getVerb().getCommand().invalidMessage());
     } else {
       responseBuilder.response("Invalid command. Try again.");
     }
@@ -149,7 +430,7 @@ public class Game {
       responseBuilder.gameOver(true);
     }
 
-    return responseBuilder.build();
+    return responseBuilder;
   }
 
   /*
@@ -205,13 +486,9 @@ public class Game {
 
   public String itemRequestDesc(String item) {
     StringBuilder sb = new StringBuilder();
-    if (player.playerAndRoomItems().contains(Item.valueOf(item))) {
-      for (Item itemx : player.playerAndRoomItems()) {
-        if (itemx.name().equals(item)) {
-          sb.append("\n").append(itemx.getDescription());
-          break;
-        }
-      }
+    Item found = Item.fromName(item);
+    if (found != null && player.canSee(found)) {
+      sb.append("\n").append(found.getDescription());
     } else {
       sb.append("Item not present");
     }
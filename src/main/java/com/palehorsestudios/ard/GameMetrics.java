@@ -0,0 +1,182 @@
+package com.palehorsestudios.ard;
+
+import com.palehorsestudios.ard.environment.RoomPool;
+import com.palehorsestudios.ard.util.CommandParser;
+import com.palehorsestudios.ard.util.ParsedCommand;
+import com.palehorsestudios.ard.util.commands.Verb;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the game, published on /actuator/metrics and /actuator/prometheus:
+ * <ul>
+ *   <li>ard.command: a timer with a percentile histogram per verb ("move", "fight", ...), plus "character",
+ *   "answer" and "nav" for the endpoints that skip the parser, and "invalid" for input that didn't parse</li>
+ *   <li>ard.command.parse.failures: a counter per parse status</li>
+ *   <li>ard.score.db: a timer per ScoreRepository call made by the Leaderboard</li>
+ *   <li>ard.room.pool.hits, ard.room.pool.misses and ard.room.pool.available, read from RoomPool's own counters</li>
+ * </ul>
+ * Every timer and counter is looked up once, here, so recording is an EnumMap read and the meter's own striped
+ * adders; nothing on the request path takes a lock or touches the registry. Session gauges come from GameRegistry.
+ */
+@Component
+public class GameMetrics {
+  static final String COMMAND = "ard.command";
+  static final String PARSE_FAILURES = "ard.command.parse.failures";
+  static final String DATABASE = "ard.score.db";
+
+  private final Map<Verb, Timer> verbs = new EnumMap<>(Verb.class);
+  private final Map<ParsedCommand.Status, Counter> failures = new EnumMap<>(ParsedCommand.Status.class);
+  private final Timer invalid;
+  private final Timer character;
+  private final Timer answer;
+  private final Timer nav;
+  private final Timer findTop;
+  private final Timer findAfter;
+  private final Timer saveAll;
+  private final Timer countByScore;
+  private final Timer findStoredIds;
+  private final Timer reserveIds;
+
+  public GameMetrics(MeterRegistry registry) {
+    for (Verb verb : Verb.values()) {
+      verbs.put(verb, command(registry, verb.getKeyword()));
+    }
+    for (ParsedCommand.Status status : ParsedCommand.Status.values()) {
+      if (status != ParsedCommand.Status.OK) {
+        failures.put(status, Counter.builder(PARSE_FAILURES)
+            .description("Commands the parser could not make sense of")
+            .tag("status", status.name().toLowerCase())
+            .register(registry));
+      }
+    }
+    invalid = command(registry, "invalid");
+    character = command(registry, "character");
+    answer = command(registry, "answer");
+    nav = command(registry, "nav");
+    findTop = database(registry, "findTop");
+    findAfter = database(registry, "findAfter");
+    saveAll = database(registry, "saveAll");
+    countByScore = database(registry, "countByScore");
+    findStoredIds = database(registry, "findStoredIds");
+    reserveIds = database(registry, "reserveIds");
+
+    RoomPool pool = RoomPool.shared();
+    FunctionCounter.builder("ard.room.pool.hits", pool, RoomPool::hits)
+        .description("Rooms made from a pre-generated blueprint")
+        .register(registry);
+    FunctionCounter.builder("ard.room.pool.misses", pool, RoomPool::misses)
+        .description("Rooms generated on the request path because the pool was empty")
+        .register(registry);
+    Gauge.builder("ard.room.pool.available", pool, RoomPool::available)
+        .description("Blueprints ready right now")
+        .register(registry);
+  }
+
+  private static Timer command(MeterRegistry registry, String verb) {
+    return Timer.builder(COMMAND)
+        .description("Time to carry out one game command")
+        .tag("verb", verb)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private static Timer database(MeterRegistry registry, String operation) {
+    return Timer.builder(DATABASE)
+        .description("Time spent in ScoreRepository")
+        .tag("operation", operation)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  /**
+   * Parses the command and carries it out on the game, timed under its verb. Input that doesn't parse is counted by
+   * status and timed as "invalid".
+   *
+   * @param game game to play the command on
+   * @param cmd  raw command text
+   * @return builder holding the command's outcome
+   */
+  Response.Builder turn(Game game, String cmd) {
+    ParsedCommand command = CommandParser.parse(cmd);
+    Timer timer;
+    if (command.isValid()) {
+      timer = verbs.get(command.getVerb());
+    } else {
+      failures.get(command.getStatus()).increment();
+      timer = invalid;
+    }
+    return timer.record(() -> game.turn(command));
+  }
+
+  /**
+   * Times a character selection.
+   */
+  <T> T character(Supplier<T> action) {
+    return character.record(action);
+  }
+
+  /**
+   * Times an answer to a chest's question.
+   */
+  <T> T answer(Supplier<T> action) {
+    return answer.record(action);
+  }
+
+  /**
+   * Times a step within a room.
+   */
+  <T> T nav(Supplier<T> action) {
+    return nav.record(action);
+  }
+
+  /**
+   * Times a ScoreRepository.findTop call.
+   */
+  <T> T findTop(Supplier<T> query) {
+    return findTop.record(query);
+  }
+
+  /**
+   * Times a ScoreRepository.findAfter call.
+   */
+  <T> T findAfter(Supplier<T> query) {
+    return findAfter.record(query);
+  }
+
+  /**
+   * Times a ScoreRepository.saveAll call.
+   */
+  <T> T saveAll(Supplier<T> write) {
+    return saveAll.record(write);
+  }
+
+  /**
+   * Times a ScoreRepository.countByScore call.
+   */
+  <T> T countByScore(Supplier<T> query) {
+    return countByScore.record(query);
+  }
+
+  /**
+   * Times a ScoreRepository.findStoredIds call.
+   */
+  <T> T findStoredIds(Supplier<T> query) {
+    return findStoredIds.record(query);
+  }
+
+  /**
+   * Times a ScoreRepository.reserveIds call.
+   */
+  <T> T reserveIds(Supplier<T> write) {
+    return reserveIds.record(write);
+  }
+}
@@ -0,0 +1,362 @@
+package com.palehorsestudios.ard;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds one Game per HTTP session. Lookups go through a ConcurrentHashMap, so requests from different players never
+ * block each other, and sessions that have been idle longer than the configured timeout are swept out periodically.
+ * <p>
+ * In serialized mode (the default) every session gets a SessionMailbox, and all commands for that session run one
+ * at a time on a shared worker pool sized to the machine's cores. With it turned off commands run directly on the
+ * request thread, as they did before, with no protection against two requests for the same session.
+ * <p>
+ * With a snapshot file configured, every game is checkpointed to it through SessionCodec when the application shuts
+ * down, and restored from it on the next start. With a journal directory configured, every new game is seeded and
+ * its commands are recorded to a CommandJournal there, for CommandReplay.
+ * <p>
+ * As a MeterBinder it publishes the number of live sessions and the sizes of their maps as gauges.
+ */
+@Component
+public class GameRegistry implements MeterBinder {
+  private static final Logger log = LoggerFactory.getLogger(GameRegistry.class);
+
+  private final ConcurrentMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+  private final long idleTimeout; // millis a session may go unused before it is evicted
+  private final LongSupplier clock;
+  private final ExecutorService workers; // drains session mailboxes, null when not serialized
+  private Path snapshot; // where games are checkpointed on shutdown, null for nowhere
+  private Path journals; // directory new games are recorded to, null to not record
+
+  @Autowired
+  GameRegistry(@Value("${ard.session.idle-timeout-minutes:30}") long idleTimeoutMinutes,
+               @Value("${ard.session.serialized:true}") boolean serialized,
+               @Value("${ard.session.snapshot:}") String snapshot,
+               @Value("${ard.journal.dir:}") String journals) throws IOException {
+    this(TimeUnit.MINUTES.toMillis(idleTimeoutMinutes), System::currentTimeMillis,
+        serialized ? newWorkerPool(Runtime.getRuntime().availableProcessors()) : null);
+    this.snapshot = snapshot.isEmpty() ? null : Paths.get(snapshot);
+    if (!journals.isEmpty()) {
+      recordTo(Paths.get(journals));
+    }
+  }
+
+  /**
+   * Constructor with an injectable clock, package private for test purposes. Commands run on the calling thread.
+   *
+   * @param idleTimeout idle time in millis before a session is evicted
+   * @param clock       source of the current time in millis
+   */
+  GameRegistry(long idleTimeout, LongSupplier clock) {
+    this(idleTimeout, clock, null);
+  }
+
+  /**
+   * Constructor with an injectable clock and worker pool, package private for test purposes.
+   *
+   * @param idleTimeout idle time in millis before a session is evicted
+   * @param clock       source of the current time in millis
+   * @param workers     pool that drains session mailboxes, or null to run commands on the calling thread
+   */
+  GameRegistry(long idleTimeout, LongSupplier clock, ExecutorService workers) {
+    this.idleTimeout = idleTimeout;
+    this.clock = clock;
+    this.workers = workers;
+  }
+
+  /**
+   * Makes a fixed pool of daemon threads to drain the session mailboxes.
+   *
+   * @param threads number of workers
+   * @return the pool
+   */
+  static ExecutorService newWorkerPool(int threads) {
+    AtomicInteger count = new AtomicInteger();
+    return Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "game-worker-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Records every game started from now on to a journal in the given directory, creating it if needed.
+   *
+   * @param directory where journals go
+   * @throws IOException if the directory cannot be created
+   */
+  void recordTo(Path directory) throws IOException {
+    journals = Files.createDirectories(directory);
+  }
+
+  private GameSession newSession(long now) {
+    return newSession(newGame(now), now);
+  }
+
+  private Game newGame(long now) {
+    if (journals == null) {
+      return new Game();
+    }
+    long seed = ThreadLocalRandom.current().nextLong();
+    Game game = new Game(seed);
+    try {
+      game.record(CommandJournal.create(journals.resolve(String.format("%d-%016x.journal", now, seed)), seed, now));
+    } catch (IOException e) {
+      log.warn("Not recording game {}: {}", Long.toHexString(seed), e.getMessage());
+    }
+    return game;
+  }
+
+  /**
+   * Closes the journal of a session that is going away, after any commands still queued for it.
+   */
+  private static void retire(GameSession session) {
+    if (session != null) {
+      session.submit(game -> {
+        game.closeJournal();
+        return null;
+      });
+    }
+  }
+
+  private GameSession newSession(Game game, long now) {
+    return new GameSession(game, workers == null ? null : new SessionMailbox(workers), now);
+  }
+
+  /**
+   * Returns the game for the given session, starting a new one if the session has none yet.
+   *
+   * @param sessionId id of the player's session
+   * @return the session's game
+   */
+  public Game get(String sessionId) {
+    return resolve(sessionId).getGame();
+  }
+
+  /**
+   * Returns the session entry for the given id, creating it if needed, and marks it as used.
+   */
+  GameSession resolve(String sessionId) {
+    long now = clock.getAsLong();
+    GameSession session = sessions.get(sessionId);
+    if (session == null) {
+      session = sessions.computeIfAbsent(sessionId, id -> newSession(now));
+    }
+    return session.touch(now);
+  }
+
+  /**
+   * Runs the action against the session's game, after any earlier actions for the same session have finished.
+   *
+   * @param sessionId id of the player's session
+   * @param action    what to do with the game
+   * @param <T>       result type
+   * @return future for the action's result
+   */
+  public <T> CompletableFuture<T> submit(String sessionId, Function<Game, T> action) {
+    return resolve(sessionId).submit(action);
+  }
+
+  /**
+   * Throws away the session's current game (if any) and starts a fresh one.
+   *
+   * @param sessionId id of the player's session
+   * @return the new game
+   */
+  public Game reset(String sessionId) {
+    GameSession session = newSession(clock.getAsLong());
+    retire(sessions.put(sessionId, session));
+    return session.getGame();
+  }
+
+  /**
+   * Removes the session's game from the registry.
+   *
+   * @param sessionId id of the player's session
+   */
+  public void remove(String sessionId) {
+    retire(sessions.remove(sessionId));
+  }
+
+  /**
+   * Number of games currently held.
+   *
+   * @return live session count
+   */
+  public int size() {
+    return sessions.size();
+  }
+
+  /**
+   * Largest map among the live games, in rooms. Read without going through the mailboxes, so a game that is
+   * generating a room right now may be counted a room short.
+   *
+   * @return rooms on the biggest map, 0 with no sessions
+   */
+  int largestMap() {
+    int largest = 0;
+    for (GameSession session : sessions.values()) {
+      largest = Math.max(largest, session.getGame().getGameMap().size());
+    }
+    return largest;
+  }
+
+  /**
+   * Rooms across all live games, read the same way as largestMap.
+   *
+   * @return total rooms
+   */
+  long rooms() {
+    long total = 0;
+    for (GameSession session : sessions.values()) {
+      total += session.getGame().getGameMap().size();
+    }
+    return total;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("ard.sessions", this, GameRegistry::size)
+        .description("Games currently held")
+        .register(registry);
+    Gauge.builder("ard.session.rooms", this, GameRegistry::rooms)
+        .description("Rooms generated across all live games")
+        .register(registry);
+    Gauge.builder("ard.session.rooms.max", this, GameRegistry::largestMap)
+        .description("Rooms on the largest live map")
+        .register(registry);
+  }
+
+  /**
+   * Evicts every session that has been idle longer than the timeout. The idle check is repeated inside
+   * computeIfPresent so a session touched while the sweep is running is kept.
+   *
+   * @return number of sessions evicted
+   */
+  @Scheduled(fixedDelayString = "${ard.session.sweep-interval-millis:60000}")
+  public int evictIdle() {
+    long now = clock.getAsLong();
+    int evicted = 0;
+    for (String id : sessions.keySet()) {
+      GameSession[] removed = new GameSession[1];
+      sessions.computeIfPresent(id, (key, session) -> {
+        if (session.isIdle(now, idleTimeout)) {
+          removed[0] = session;
+          return null;
+        }
+        return session;
+      });
+      if (removed[0] != null) {
+        retire(removed[0]);
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * Snapshots every game. Each snapshot is taken through its session's mailbox, so it never sees a command half done.
+   * A game that fails to encode is left out, so it can't cost the other sessions theirs.
+   *
+   * @return snapshots by session id
+   */
+  Map<String, byte[]> checkpoint() {
+    Map<String, CompletableFuture<byte[]>> pending = new HashMap<>();
+    sessions.forEach((id, session) -> pending.put(id, session.submit(SessionCodec::encode)));
+    Map<String, byte[]> result = new HashMap<>();
+    pending.forEach((id, snapshot) -> {
+      try {
+        result.put(id, snapshot.join());
+      } catch (CompletionException e) {
+        log.warn("Skipping session {}: could not snapshot it", id, e.getCause());
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Puts snapshotted games back, replacing any game the same sessions have now. A snapshot that fails to decode is
+   * skipped.
+   *
+   * @param snapshots snapshots by session id
+   * @return number of games restored
+   */
+  int restore(Map<String, byte[]> snapshots) {
+    long now = clock.getAsLong();
+    int restored = 0;
+    for (Map.Entry<String, byte[]> snapshot : snapshots.entrySet()) {
+      try {
+        Game game = SessionCodec.decode(snapshot.getValue());
+        retire(sessions.put(snapshot.getKey(), newSession(game, now)));
+        restored++;
+      } catch (IllegalArgumentException e) {
+        log.warn("Skipping session {}: {}", snapshot.getKey(), e.getMessage());
+      }
+    }
+    return restored;
+  }
+
+  /**
+   * Restores the games checkpointed at the last shutdown, if any. The file is removed afterwards so a crash later on
+   * can't bring back games that have moved on since.
+   */
+  @PostConstruct
+  void restoreSnapshot() {
+    if (snapshot == null || !Files.exists(snapshot)) {
+      return;
+    }
+    try {
+      restore(SessionCodec.readFile(snapshot));
+      Files.delete(snapshot);
+    } catch (IOException | IllegalArgumentException e) {
+      log.error("Could not restore sessions from {}", snapshot, e);
+    }
+  }
+
+  /**
+   * Checkpoints every game to the snapshot file, if one is configured, closes the command journals, then stops the
+   * mailbox workers when the application shuts down.
+   */
+  @PreDestroy
+  void shutdown() {
+    try {
+      if (snapshot != null) {
+        SessionCodec.writeFile(checkpoint(), snapshot);
+      }
+    } catch (IOException | RuntimeException e) {
+      log.error("Could not checkpoint sessions to {}", snapshot, e);
+    } finally {
+      sessions.values().forEach(GameRegistry::retire);
+      if (workers != null) {
+        workers.shutdown();
+      }
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.palehorsestudios.ard;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A single player's game along with the bookkeeping the GameRegistry needs to evict it once it goes idle.
+ */
+class GameSession {
+  private final Game game;
+  private final SessionMailbox mailbox; // null when commands run directly on the request thread
+  private final TurnTracker turns = new TurnTracker(); // state last sent on the turn endpoint
+  private volatile long lastAccess; // millis of the last request that resolved this session
+
+  GameSession(Game game, SessionMailbox mailbox, long now) {
+    this.game = game;
+    this.mailbox = mailbox;
+    this.lastAccess = now;
+  }
+
+  Game getGame() {
+    return game;
+  }
+
+  /**
+   * Runs the action against this session's game. With a mailbox the action is queued behind any earlier ones for
+   * the session; without one it runs immediately on the calling thread. Either way an exception from the action
+   * fails the future rather than being thrown here.
+   *
+   * @param action what to do with the game
+   * @param <T>    result type
+   * @return future for the action's result
+   */
+  <T> CompletableFuture<T> submit(Function<Game, T> action) {
+    if (mailbox == null) {
+      try {
+        return CompletableFuture.completedFuture(action.apply(game));
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+    return mailbox.submit(game, action);
+  }
+
+  TurnTracker getTurns() {
+    return turns;
+  }
+
+  long getLastAccess() {
+    return lastAccess;
+  }
+
+  /**
+   * Records that the session was used at the given time.
+   *
+   * @param now current time in millis
+   * @return this session
+   */
+  GameSession touch(long now) {
+    lastAccess = now;
+    return this;
+  }
+
+  /**
+   * Returns true if the session has not been used for longer than the given timeout.
+   *
+   * @param now         current time in millis
+   * @param idleTimeout allowed idle time in millis
+   * @return true if the session can be evicted
+   */
+  boolean isIdle(long now, long idleTimeout) {
+    return now - lastAccess > idleTimeout;
+  }
+}
@@ -0,0 +1,336 @@
+package com.palehorsestudios.ard;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The leaderboard, held in memory in a ConcurrentSkipListSet ordered by score descending, then id descending (newer
+ * first among ties). It is warmed from ScoreRepository at startup. Pages are keyset-paged: the cursor is the last
+ * entry's "score_id".
+ * <p>
+ * Only the best entries, up to the configured capacity, are held; lower ones are dropped from the set as better ones
+ * come in, so memory stays bounded however many games are played. Pages within the set never touch the database;
+ * a page that runs past the end of it is finished from the database, where a score dropped before its flush shows up
+ * once flushed. Ranks stay exact, as the count of scores at each value is kept for all of them, which is one map
+ * entry per distinct score rather than per game.
+ * <p>
+ * A submitted score gets an id from a block reserved in the database, so nodes sharing it never hand out the same
+ * one, and is written to a ScoreJournal. The journal is forced on its own thread, once for all scores written
+ * since the last force, and only then is the score inserted into the set in O(log n) and acknowledged; callers get
+ * a future and no lock is held while the disk catches up. The database write happens later, when flush writes
+ * pending scores in batches on the scheduler thread. Once the database has caught up the journal is emptied. After
+ * a crash, the journal entries the database does not have yet are replayed on startup, so no acknowledged score is
+ * lost.
+ * <p>
+ * Every repository call is timed through GameMetrics.
+ */
+@Component
+public class Leaderboard implements AutoCloseable {
+  static final int DEFAULT_SIZE = 10;
+  static final int MAX_SIZE = 100;
+  static final int BATCH_SIZE = 100; // scores per saveAll, and rows per page when warming
+  static final int ID_BLOCK = 100; // ids reserved from the database at a time
+
+  private static final Comparator<ScoreEntry> ORDER =
+      Comparator.comparingInt(ScoreEntry::getScore).thenComparingLong(ScoreEntry::getId).reversed();
+
+  private final ScoreRepository scoreRepository;
+  private final ScoreJournal journal;
+  private final GameMetrics metrics;
+  private final int capacity; // most entries held in memory
+  private final ExecutorService syncer; // forces the journal and acknowledges scores
+  private final NavigableSet<ScoreEntry> entries = new ConcurrentSkipListSet<>(ORDER);
+  private final TreeMap<Integer, Long> countByScore = new TreeMap<>(); // for rank, guarded by this
+  private final ConcurrentLinkedQueue<Score> pending = new ConcurrentLinkedQueue<>(); // acknowledged, not stored
+  private final List<Score> batch = new ArrayList<>(BATCH_SIZE); // being stored, guarded by batch
+  private final Object ids = new Object();
+  private long nextId; // guarded by ids
+  private long idLimit; // end of the reserved block, guarded by ids
+  private int held; // entries.size(), which is a full walk for a skip list; guarded by this
+  private int unsynced; // written to the journal but not acknowledged yet, guarded by this
+  private volatile boolean dropped; // whether there are scores below the lowest entry held
+
+  @Autowired
+  public Leaderboard(ScoreRepository scoreRepository, GameMetrics metrics,
+                     @Value("${ard.leaderboard.journal:leaderboard.journal}") String journal,
+                     @Value("${ard.leaderboard.capacity:10000}") int capacity) {
+    this(scoreRepository, metrics, new ScoreJournal(Paths.get(journal)), capacity);
+  }
+
+  /**
+   * Constructor with an injectable journal, package private for test purposes. Loads the stored scores, then
+   * replays whatever the journal holds beyond them.
+   *
+   * @param scoreRepository where scores are stored
+   * @param metrics         times the repository calls
+   * @param journal         write-ahead log of scores not yet stored
+   * @param capacity        most entries to hold in memory
+   */
+  Leaderboard(ScoreRepository scoreRepository, GameMetrics metrics, ScoreJournal journal, int capacity) {
+    this.scoreRepository = scoreRepository;
+    this.metrics = metrics;
+    this.journal = journal;
+    this.capacity = Math.max(capacity, MAX_SIZE);
+    this.syncer = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "leaderboard-journal");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    long stored = 0;
+    for (Object[] row : metrics.countByScore(scoreRepository::countByScore)) {
+      long count = ((Number) row[1]).longValue();
+      countByScore.put(((Number) row[0]).intValue(), count);
+      stored += count;
+    }
+    List<ScoreEntry> page = metrics.findTop(() -> scoreRepository.findTop(PageRequest.of(0, BATCH_SIZE)));
+    while (!page.isEmpty() && held < this.capacity) {
+      page.forEach(this::hold);
+      ScoreEntry last = page.get(page.size() - 1);
+      page = metrics.findAfter(
+          () -> scoreRepository.findAfter(last.getScore(), last.getId(), PageRequest.of(0, BATCH_SIZE)));
+    }
+    dropped = stored > held;
+
+    List<Score> journaled = journal.read();
+    Set<Long> storedIds = new HashSet<>();
+    for (int from = 0; from < journaled.size(); from += BATCH_SIZE) {
+      List<Long> chunk = journaled.subList(from, Math.min(from + BATCH_SIZE, journaled.size())).stream()
+          .map(Score::getId).collect(Collectors.toList());
+      storedIds.addAll(metrics.findStoredIds(() -> scoreRepository.findStoredIds(chunk)));
+    }
+    for (Score score : journaled) {
+      if (storedIds.add(score.getId())) {
+        add(entry(score));
+        pending.add(score);
+      }
+    }
+  }
+
+  /**
+   * Returns the best scores.
+   *
+   * @param size entries to return, clamped to 1..MAX_SIZE
+   * @return first page
+   */
+  public LeaderboardPage top(int size) {
+    return page(entries, clamp(size), null, null);
+  }
+
+  /**
+   * Returns the page that follows the given cursor.
+   *
+   * @param cursor next value of the previous page
+   * @param size   entries to return, clamped to 1..MAX_SIZE
+   * @return following page
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  public LeaderboardPage after(String cursor, int size) throws IllegalArgumentException {
+    String[] parts = cursor.split("_", 2);
+    ScoreEntry from;
+    try {
+      from = new ScoreEntry(Long.parseLong(parts[1]), null, null, null, Integer.parseInt(parts[0]), 0);
+    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Bad leaderboard cursor: " + cursor, e);
+    }
+    return page(entries.tailSet(from, false), clamp(size), null, from);
+  }
+
+  /**
+   * Records the score. The future completes with the top of the leaderboard, along with where the new score ranks,
+   * once the score is on disk in the journal; it reaches the database on a later flush.
+   *
+   * @param score score to record
+   * @return top page, with rank set, or the failure that kept the score from being recorded
+   */
+  public CompletableFuture<LeaderboardPage> submit(Score score) {
+    long line;
+    try {
+      score.setId(nextId());
+      synchronized (this) {
+        line = journal.write(score);
+        unsynced++;
+      }
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        journal.sync(line);
+      } catch (UncheckedIOException e) {
+        synchronized (this) {
+          unsynced--;
+        }
+        throw e;
+      }
+      return acknowledge(score);
+    }, syncer);
+  }
+
+  private LeaderboardPage acknowledge(Score score) {
+    long rank;
+    synchronized (this) {
+      unsynced--;
+      // a new score is the newest, so it ranks just behind every strictly higher score
+      rank = 1;
+      for (long count : countByScore.tailMap(score.getScore(), false).values()) {
+        rank += count;
+      }
+      add(entry(score));
+      pending.add(score);
+    }
+    return page(entries, DEFAULT_SIZE, rank, null);
+  }
+
+  private long nextId() {
+    synchronized (ids) {
+      if (nextId == idLimit) {
+        nextId = metrics.reserveIds(() -> scoreRepository.reserveIds(ID_BLOCK));
+        idLimit = nextId + ID_BLOCK;
+      }
+      return nextId++;
+    }
+  }
+
+  /**
+   * Writes pending scores to the database in batches of BATCH_SIZE, and empties the journal once nothing is left
+   * pending or waiting on a force. A batch that fails to save is kept and retried first on the next flush.
+   */
+  @Scheduled(fixedDelayString = "${ard.leaderboard.flush-interval-millis:1000}")
+  public void flush() {
+    synchronized (batch) {
+      while (true) {
+        if (batch.isEmpty()) {
+          for (Score score; batch.size() < BATCH_SIZE && (score = pending.poll()) != null; ) {
+            batch.add(score);
+          }
+          if (batch.isEmpty()) {
+            break;
+          }
+        }
+        metrics.saveAll(() -> scoreRepository.saveAll(batch));
+        batch.clear();
+      }
+      synchronized (this) {
+        if (pending.isEmpty() && unsynced == 0) {
+          journal.clear();
+        }
+      }
+    }
+  }
+
+  /**
+   * Number of acknowledged scores not yet in the database.
+   *
+   * @return pending scores
+   */
+  int pending() {
+    synchronized (batch) {
+      return pending.size() + batch.size();
+    }
+  }
+
+  /**
+   * Number of entries held in memory.
+   *
+   * @return held entries
+   */
+  synchronized int held() {
+    return held;
+  }
+
+  /**
+   * Acknowledges whatever is already written, stores whatever is pending and closes the journal. Anything that
+   * fails to store stays in the journal for the next start.
+   *
+   * @throws IOException if the journal fails to close
+   */
+  @PreDestroy
+  @Override
+  public void close() throws IOException {
+    syncer.shutdown();
+    try {
+      syncer.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    try {
+      flush();
+    } finally {
+      journal.close();
+    }
+  }
+
+  private synchronized void add(ScoreEntry entry) {
+    hold(entry);
+    countByScore.merge(entry.getScore(), 1L, Long::sum);
+  }
+
+  // puts the entry in the set, dropping the lowest one if that takes the set past its capacity
+  private synchronized void hold(ScoreEntry entry) {
+    entries.add(entry);
+    if (++held > capacity) {
+      entries.pollLast();
+      held--;
+      dropped = true;
+    }
+  }
+
+  private static ScoreEntry entry(Score score) {
+    return new ScoreEntry(score.getId(), score.getDate(), score.getName(), score.getCharacter(), score.getScore(),
+        score.getLevel());
+  }
+
+  private static int clamp(int size) {
+    return Math.max(1, Math.min(size, MAX_SIZE));
+  }
+
+  /**
+   * Takes a page from the set, finishing it from the database if it runs past the end of the set and there is more
+   * below. One entry beyond the page is read to tell whether there is a next page.
+   */
+  private LeaderboardPage page(NavigableSet<ScoreEntry> from, int size, Long rank, ScoreEntry start) {
+    List<ScoreEntry> result = new ArrayList<>(size + 1);
+    for (ScoreEntry entry : from) {
+      if (result.size() > size) {
+        break;
+      }
+      result.add(entry);
+    }
+    ScoreEntry last = result.isEmpty() ? start : result.get(result.size() - 1);
+    if (result.size() <= size && dropped && last != null) {
+      int missing = size + 1 - result.size();
+      result.addAll(metrics.findAfter(
+          () -> scoreRepository.findAfter(last.getScore(), last.getId(), PageRequest.of(0, missing))));
+    }
+    String next = null;
+    if (result.size() > size) {
+      result.remove(size);
+      ScoreEntry end = result.get(size - 1);
+      next = end.getScore() + "_" + end.getId();
+    }
+    return new LeaderboardPage(result, next, rank);
+  }
+}
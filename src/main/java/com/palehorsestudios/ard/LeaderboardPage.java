@@ -0,0 +1,50 @@
+package com.palehorsestudios.ard;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One page of the leaderboard, best first. {@code next} is the cursor for the following page (null on the last page),
+ * and {@code rank} is the submitting player's 1-based position when the page comes back from a score submission.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class LeaderboardPage {
+  private final List<ScoreEntry> entries;
+  private final String next;
+  private final Long rank;
+
+  LeaderboardPage(List<ScoreEntry> entries, String next, Long rank) {
+    this.entries = entries;
+    this.next = next;
+    this.rank = rank;
+  }
+
+  public List<ScoreEntry> getEntries() {
+    return entries;
+  }
+
+  public String getNext() {
+    return next;
+  }
+
+  public Long getRank() {
+    return rank;
+  }
+
+  /**
+   * The page as game-over text: the player's rank, if known, then one line per entry.
+   *
+   * @return text for the console
+   */
+  String toText() {
+    StringBuilder sb = new StringBuilder();
+    if (rank != null) {
+      sb.append("You placed #").append(rank).append("\n\n");
+    }
+    for (ScoreEntry entry : entries) {
+      sb.append(entry).append("\n");
+    }
+    return sb.toString();
+  }
+}
@@ -1,12 +1,16 @@
 package com.palehorsestudios.ard;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.palehorsestudios.ard.environment.Room;
+import com.palehorsestudios.ard.environment.RoomView;
 import lombok.Data;
 
 import java.util.List;
 import java.util.Map;
 
-@Data class Response {
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class Response {
   String response;
   String banner;
   boolean gameOver;
@@ -15,7 +19,8 @@ import java.util.Map;
   String gameOverResult;
   Map<String, String> playerInfo;
   List<Map<String, String>> roomInfo;
-  Room currentRoom;
+  RoomView currentRoom;
+  long version;
 
   Response(Builder builder) {
     this.response = builder.response;
@@ -27,6 +32,7 @@ import java.util.Map;
     this.playerInfo = builder.playerInfo;
     this.roomInfo = builder.roomInfo;
     this.currentRoom = builder.currentRoom;
+    this.version = builder.version;
   }
 
   static class Builder {
@@ -38,7 +44,8 @@ import java.util.Map;
     boolean characterSelected;
     Map<String, String> playerInfo;
     List<Map<String, String>> roomInfo;
-    Room currentRoom;
+    RoomView currentRoom;
+    long version;
 
     Builder() { }
 
@@ -83,7 +90,12 @@ import java.util.Map;
     }
 
     Builder getRoom(Room currentRoom) {
-      this.currentRoom = currentRoom;
+      this.currentRoom = currentRoom == null ? null : currentRoom.getView();
+      return this;
+    }
+
+    Builder version(long version) {
+      this.version = version;
       return this;
     }
 
@@ -1,23 +1,52 @@
 package com.palehorsestudios.ard;
 
+import org.springframework.data.domain.Persistable;
+
 import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
 import java.time.LocalDate;
 
+// the leaderboard reads in (score, id) descending order; see ScoreRepository. The index for it belongs to the V2
+// migration, like the rest of the schema. Ids are handed out by the Leaderboard, from blocks reserved in the
+// score_id_block table, and a score is journaled before it is written, so they are assigned rather than generated,
+// and isNew lets saveAll insert them without selecting first.
 @Entity
-class Score {
+class Score implements Persistable<Long> {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
   private long id;
 
+  @Transient
+  private boolean isNew = true;
+
   LocalDate date;
   String name;
   String player_character;
   int score;
   int level;
 
+  @Override
+  public Long getId() {
+    return id;
+  }
+
+  void setId(long id) {
+    this.id = id;
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markStored() {
+    isNew = false;
+  }
+
   LocalDate getDate() {
     return date;
   }
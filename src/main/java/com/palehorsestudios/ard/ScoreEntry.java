@@ -0,0 +1,54 @@
+package com.palehorsestudios.ard;
+
+import java.time.LocalDate;
+
+/**
+ * One leaderboard row, read straight from the query (JPQL constructor expression) instead of hydrating a managed
+ * Score entity.
+ */
+public final class ScoreEntry {
+  private final long id;
+  private final LocalDate date;
+  private final String name;
+  private final String character;
+  private final int score;
+  private final int level;
+
+  public ScoreEntry(long id, LocalDate date, String name, String character, int score, int level) {
+    this.id = id;
+    this.date = date;
+    this.name = name;
+    this.character = character;
+    this.score = score;
+    this.level = level;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getCharacter() {
+    return character;
+  }
+
+  public int getScore() {
+    return score;
+  }
+
+  public int getLevel() {
+    return level;
+  }
+
+  @Override
+  public String toString() {
+    return date + " " + name + " (" + character + ") : score - " + score + ", level - " + level;
+  }
+}
@@ -0,0 +1,146 @@
+package com.palehorsestudios.ard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Write-ahead log for scores the Leaderboard has acknowledged but not yet written to the database. One tab separated
+ * line per score. A torn last line from a crash is skipped on read.
+ * <p>
+ * Writing and forcing are separate so forces can be shared: write puts the line in the page cache and numbers it,
+ * and sync forces the file once for every line written so far. A caller that syncs a line an earlier force already
+ * covered returns at once, so scores written while a force is running all go out on the next one.
+ */
+final class ScoreJournal implements AutoCloseable {
+  private final Path path;
+  private final FileChannel channel;
+  private long written; // lines written, guarded by this
+  private long synced; // lines known to be on disk, guarded by this
+
+  /**
+   * Opens the journal, creating it if needed.
+   *
+   * @param path journal file
+   * @throws UncheckedIOException if the file cannot be opened
+   */
+  ScoreJournal(Path path) throws UncheckedIOException {
+    this.path = path;
+    try {
+      channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+          StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes the score, without forcing it to disk; see sync.
+   *
+   * @param score score with its id assigned
+   * @return the line's number, to sync on
+   * @throws UncheckedIOException if the write fails; the score must not be acknowledged then
+   */
+  synchronized long write(Score score) throws UncheckedIOException {
+    String line = score.getId() + "\t" + score.getDate() + "\t" + clean(score.getName()) + "\t"
+        + clean(score.getCharacter()) + "\t" + score.getScore() + "\t" + score.getLevel() + "\n";
+    ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return ++written;
+  }
+
+  /**
+   * Makes sure the given line is on disk, forcing the file unless an earlier force already covered it. The force
+   * runs outside this journal's lock, so writes go on meanwhile.
+   *
+   * @param line number returned by write
+   * @throws UncheckedIOException if the force fails; the line must not be acknowledged then
+   */
+  void sync(long line) throws UncheckedIOException {
+    long target;
+    synchronized (this) {
+      if (synced >= line) {
+        return;
+      }
+      target = written;
+    }
+    try {
+      channel.force(false);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    synchronized (this) {
+      synced = Math.max(synced, target);
+    }
+  }
+
+  /**
+   * Reads back every complete entry, oldest first.
+   *
+   * @return journaled scores
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  synchronized List<Score> read() throws UncheckedIOException {
+    List<Score> result = new ArrayList<>();
+    try {
+      for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 6) {
+          continue;
+        }
+        try {
+          Score score = new Score();
+          score.setId(Long.parseLong(fields[0]));
+          score.setDate(LocalDate.parse(fields[1]));
+          score.setName(fields[2]);
+          score.setCharacter(fields[3]);
+          score.setScore(Integer.parseInt(fields[4]));
+          score.setLevel(Integer.parseInt(fields[5]));
+          result.add(score);
+        } catch (RuntimeException e) {
+          // partial line left by a crash mid-append
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return result;
+  }
+
+  /**
+   * Empties the journal, once everything in it is in the database. The truncation isn't forced: if a crash undoes it,
+   * the scores come back on the next start and are recognised as stored.
+   *
+   * @throws UncheckedIOException if the file cannot be truncated
+   */
+  synchronized void clear() throws UncheckedIOException {
+    try {
+      channel.truncate(0);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    channel.close();
+  }
+
+  private static String clean(String field) {
+    return field == null ? "" : field.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+  }
+}
@@ -1,6 +1,67 @@
 package com.palehorsestudios.ard;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Scores, plus the keyset queries the Leaderboard warms itself with at startup. Leaderboard order is score
+ * descending, then id descending (newer first among ties), which is exactly the order of the (score, id) index on
+ * Score, so every query below is an index range scan.
+ */
 public interface ScoreRepository extends JpaRepository<Score, Long> {
+
+  /**
+   * Best scores first; pass PageRequest.of(0, n) for the top n.
+   */
+  @Query("select new com.palehorsestudios.ard.ScoreEntry(s.id, s.date, s.name, s.player_character, s.score, s.level)"
+      + " from Score s order by s.score desc, s.id desc")
+  List<ScoreEntry> findTop(Pageable pageable);
+
+  /**
+   * The entries that come after (score, id) in leaderboard order, for keyset paging; only the page size of the
+   * Pageable is used.
+   */
+  @Query("select new com.palehorsestudios.ard.ScoreEntry(s.id, s.date, s.name, s.player_character, s.score, s.level)"
+      + " from Score s where s.score < :score or (s.score = :score and s.id < :id)"
+      + " order by s.score desc, s.id desc")
+  List<ScoreEntry> findAfter(@Param("score") int score, @Param("id") long id, Pageable pageable);
+
+  /**
+   * How many scores there are of each value, as (score, count) pairs.
+   */
+  @Query("select s.score, count(s) from Score s group by s.score")
+  List<Object[]> countByScore();
+
+  /**
+   * Which of the given ids are stored already.
+   */
+  @Query("select s.id from Score s where s.id in :ids")
+  List<Long> findStoredIds(@Param("ids") Collection<Long> ids);
+
+  @Modifying
+  @Query(value = "update score_id_block set next_id = next_id + :size", nativeQuery = true)
+  int advanceNextId(@Param("size") int size);
+
+  @Query(value = "select next_id from score_id_block", nativeQuery = true)
+  long findNextId();
+
+  /**
+   * Reserves a block of ids no other node will hand out. The update locks the row until the transaction commits,
+   * so two nodes reserving at once get consecutive blocks.
+   *
+   * @param size ids to reserve
+   * @return the first id of the block
+   */
+  @Transactional
+  default long reserveIds(int size) {
+    advanceNextId(size);
+    return findNextId() - size;
+  }
 }
@@ -0,0 +1,110 @@
+package com.palehorsestudios.ard;
+
+import com.palehorsestudios.ard.util.SnapshotReader;
+import com.palehorsestudios.ard.util.SnapshotWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binary snapshots of whole games, for checkpointing sessions across restarts or handing them to another node. A
+ * game snapshot is the magic "ARDG", a format version, then the game as written by Game.writeTo: varints and
+ * once-only strings, no Java serialization and no reflection. A snapshot file holds many games, keyed by session id.
+ * <p>
+ * Bump VERSION whenever anything's writeTo changes. Snapshots from another version are refused rather than misread.
+ */
+final class SessionCodec {
+  static final int VERSION = 1;
+  private static final byte[] GAME_MAGIC = {'A', 'R', 'D', 'G'};
+  private static final byte[] FILE_MAGIC = {'A', 'R', 'D', 'S'};
+
+  private SessionCodec() {
+  }
+
+  /**
+   * Snapshots the game. The game must not change while this runs; go through the session's mailbox.
+   *
+   * @param game game to snapshot
+   * @return the snapshot
+   */
+  static byte[] encode(Game game) {
+    SnapshotWriter out = new SnapshotWriter();
+    out.writeBytes(GAME_MAGIC);
+    out.writeVarInt(VERSION);
+    game.writeTo(out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Rebuilds a game from its snapshot.
+   *
+   * @param snapshot bytes from encode
+   * @return the game
+   * @throws IllegalArgumentException if the snapshot is malformed or from another version
+   */
+  static Game decode(byte[] snapshot) throws IllegalArgumentException {
+    SnapshotReader in = new SnapshotReader(snapshot);
+    readHeader(in, GAME_MAGIC);
+    Game game = Game.readFrom(in);
+    if (!in.atEnd()) {
+      throw new IllegalArgumentException("trailing bytes after game");
+    }
+    return game;
+  }
+
+  /**
+   * Writes game snapshots to a file, replacing it atomically so a crash mid-write leaves the old file intact.
+   *
+   * @param sessions snapshots by session id
+   * @param file     where to write
+   * @throws IOException if the file cannot be written
+   */
+  static void writeFile(Map<String, byte[]> sessions, Path file) throws IOException {
+    SnapshotWriter out = new SnapshotWriter();
+    out.writeBytes(FILE_MAGIC);
+    out.writeVarInt(VERSION);
+    out.writeVarInt(sessions.size());
+    for (Map.Entry<String, byte[]> session : sessions.entrySet()) {
+      out.writeString(session.getKey());
+      out.writeVarInt(session.getValue().length);
+      out.writeBytes(session.getValue());
+    }
+    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.write(temp, out.toByteArray());
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Reads the game snapshots from a file written by writeFile. The snapshots are not decoded.
+   *
+   * @param file file to read
+   * @return snapshots by session id, in file order
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if the file is malformed or from another version
+   */
+  static Map<String, byte[]> readFile(Path file) throws IOException, IllegalArgumentException {
+    SnapshotReader in = new SnapshotReader(Files.readAllBytes(file));
+    readHeader(in, FILE_MAGIC);
+    Map<String, byte[]> sessions = new LinkedHashMap<>();
+    for (int i = in.readVarInt(); i > 0; i--) {
+      String id = in.readString();
+      sessions.put(id, in.readBytes(in.readVarInt()));
+    }
+    return sessions;
+  }
+
+  private static void readHeader(SnapshotReader in, byte[] magic) {
+    if (!Arrays.equals(in.readBytes(magic.length), magic)) {
+      throw new IllegalArgumentException("not a snapshot");
+    }
+    int version = in.readVarInt();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("snapshot version " + version + ", expected " + VERSION);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.palehorsestudios.ard;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Serializes all work for one game session. Tasks are queued and drained by at most one worker at a time, so the
+ * Game never sees two commands at once and needs no locks. Different sessions drain on the shared executor in
+ * parallel.
+ */
+class SessionMailbox {
+  private static final int BATCH = 32; // tasks run per drain before yielding the worker to other sessions
+
+  private final Queue<Task<?>> tasks = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final Executor executor;
+
+  SessionMailbox(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Queues the given action against the game and returns a future for its result. Actions run in submission order.
+   *
+   * @param game   the session's game
+   * @param action what to do with the game
+   * @param <T>    result type
+   * @return future completed with the action's result, or exceptionally if the action threw (Errors included) or the
+   * executor refused the work
+   */
+  <T> CompletableFuture<T> submit(Game game, Function<Game, T> action) {
+    Task<T> task = new Task<>(game, action);
+    tasks.add(task);
+    schedule();
+    return task.result;
+  }
+
+  /**
+   * One queued action and the future for its result.
+   */
+  private static final class Task<T> {
+    final Game game;
+    final Function<Game, T> action;
+    final CompletableFuture<T> result = new CompletableFuture<>();
+
+    Task(Game game, Function<Game, T> action) {
+      this.game = game;
+      this.action = action;
+    }
+
+    void run() {
+      try {
+        result.complete(action.apply(game));
+      } catch (Throwable e) {
+        result.completeExceptionally(e);
+      }
+    }
+  }
+
+  /**
+   * Number of tasks waiting to run.
+   *
+   * @return queue length
+   */
+  int pending() {
+    return tasks.size();
+  }
+
+  /**
+   * Hands the mailbox to the executor unless it is already scheduled. If the executor refuses (e.g. after shutdown),
+   * the mailbox is released and everything queued fails, rather than waiting for a drain that will never come.
+   */
+  private void schedule() {
+    if (scheduled.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        scheduled.set(false);
+        for (Task<?> task; (task = tasks.poll()) != null; ) {
+          task.result.completeExceptionally(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs up to BATCH tasks, then releases the mailbox. If more work arrived meanwhile, reschedules itself instead of
+   * looping so one busy session cannot starve the others.
+   */
+  private void drain() {
+    try {
+      int ran = 0;
+      Task<?> task;
+      while (ran < BATCH && (task = tasks.poll()) != null) {
+        task.run();
+        ran++;
+      }
+    } finally {
+      scheduled.set(false);
+    }
+    if (!tasks.isEmpty()) {
+      schedule();
+    }
+  }
+}
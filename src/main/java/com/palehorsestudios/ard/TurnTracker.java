@@ -0,0 +1,55 @@
+package com.palehorsestudios.ard;
+
+import com.palehorsestudios.ard.characters.Player;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Remembers the player and room state last sent to a session's client so a turn response only carries what changed.
+ * <p>
+ * Every state sent gets a version number. The client echoes back the newest version it has applied. If that matches
+ * the version held here, only fields that differ from it are sent; otherwise (first turn, lost response, page
+ * reload) the full state is sent. Fields left out of a response are unchanged.
+ */
+class TurnTracker {
+  private long version; // version of the state last sent, 0 before anything was sent
+  private Map<String, String> playerInfo;
+  private List<Map<String, String>> roomInfo;
+
+  /**
+   * Attaches the changed parts of the game state to the builder and stamps it with a new version.
+   *
+   * @param game            the session's game
+   * @param responseBuilder builder already holding the command's outcome
+   * @param acknowledged    newest version the client has applied
+   * @return the finished response
+   */
+  Response respond(Game game, Response.Builder responseBuilder, long acknowledged) {
+    Player player = game.getPlayer();
+    if (player == null) {
+      return responseBuilder.version(version).build();
+    }
+    boolean full = acknowledged != version || version == 0;
+    Map<String, String> newPlayerInfo = player.getPlayerInfo();
+    List<Map<String, String>> newRoomInfo = player.getCurrentRoom().getRoomInfo();
+
+    if (full || !Objects.equals(playerInfo, newPlayerInfo)) {
+      responseBuilder.playerInfo(newPlayerInfo);
+    }
+    if (full || !Objects.equals(roomInfo, newRoomInfo)) {
+      responseBuilder.roomInfo(newRoomInfo);
+      responseBuilder.getRoom(player.getCurrentRoom());
+    }
+
+    playerInfo = newPlayerInfo;
+    roomInfo = newRoomInfo;
+    version++;
+    return responseBuilder.version(version).build();
+  }
+
+  long getVersion() {
+    return version;
+  }
+}
@@ -0,0 +1,169 @@
+package com.palehorsestudios.ard.characters;
+
+import com.palehorsestudios.ard.environment.Item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A player's items, kept as a count per {@link Item} (indexed by ordinal) plus a bitmask of which items are held at
+ * least once. Adding, removing and checking an item are O(1), and questions like "has any stone" are one mask test.
+ * Items are listed in {@link Item} declaration order, not the order they were picked up.
+ */
+public final class Inventory {
+    private static final Item[] ITEMS = Item.values();
+
+    /** Mask of the six infinity stones. */
+    public static final long STONES = maskOf(Item.Space_stone, Item.Reality_stone, Item.Power_stone, Item.Mind_stone,
+            Item.Time_stone, Item.Soul_stone);
+
+    private final int[] counts = new int[ITEMS.length];
+    private long mask; // bit i set when counts[i] > 0
+    private int size;
+
+    /**
+     * Constructor for an empty inventory.
+     */
+    public Inventory() {
+    }
+
+    /**
+     * Constructor
+     *
+     * @param items items to start with, may be null
+     */
+    public Inventory(Collection<Item> items) {
+        addAll(items);
+    }
+
+    /**
+     * Returns the mask with a bit set for each of the given items.
+     *
+     * @param items
+     * @return mask for containsAny
+     */
+    public static long maskOf(Item... items) {
+        long result = 0;
+        for (Item item : items) {
+            result |= 1L << item.ordinal();
+        }
+        return result;
+    }
+
+    /**
+     * Adds one of the given item. Null is ignored.
+     *
+     * @param item
+     */
+    public void add(Item item) {
+        if (item != null) {
+            if (counts[item.ordinal()]++ == 0) {
+                mask |= 1L << item.ordinal();
+            }
+            size++;
+        }
+    }
+
+    /**
+     * Adds every item in the collection.
+     *
+     * @param items may be null
+     */
+    public void addAll(Collection<Item> items) {
+        if (items != null) {
+            items.forEach(this::add);
+        }
+    }
+
+    /**
+     * Removes one of the given item, if held.
+     *
+     * @param item
+     * @return true if one was removed
+     */
+    public boolean remove(Item item) {
+        if (item == null || counts[item.ordinal()] == 0) {
+            return false;
+        }
+        if (--counts[item.ordinal()] == 0) {
+            mask &= ~(1L << item.ordinal());
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns true if at least one of the given item is held.
+     *
+     * @param item
+     * @return
+     */
+    public boolean contains(Item item) {
+        return item != null && (mask & (1L << item.ordinal())) != 0;
+    }
+
+    /**
+     * Returns true if any item in the mask is held.
+     *
+     * @param items mask from maskOf, e.g. STONES
+     * @return
+     */
+    public boolean containsAny(long items) {
+        return (mask & items) != 0;
+    }
+
+    /**
+     * Returns how many of the given item are held.
+     *
+     * @param item
+     * @return
+     */
+    public int count(Item item) {
+        return counts[item.ordinal()];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the items as a new list, one entry per item held.
+     *
+     * @return list of items
+     */
+    public List<Item> toList() {
+        List<Item> result = new ArrayList<>(size);
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            Item item = ITEMS[Long.numberOfTrailingZeros(rest)];
+            for (int i = counts[item.ordinal()]; i > 0; i--) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the items joined by ", ", one entry per item held.
+     *
+     * @return
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            Item item = ITEMS[Long.numberOfTrailingZeros(rest)];
+            for (int i = counts[item.ordinal()]; i > 0; i--) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                sb.append(item.name());
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,13 +1,14 @@
 package com.palehorsestudios.ard.characters;
 
+import com.palehorsestudios.ard.combat.CombatLog;
+import com.palehorsestudios.ard.combat.CombatRenderer;
 import com.palehorsestudios.ard.environment.Item;
 import com.palehorsestudios.ard.environment.Room;
+import com.palehorsestudios.ard.util.Dice;
 
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
-import static com.palehorsestudios.ard.combat.combatEngine.MonsterFightsPlayer;
-import static com.palehorsestudios.ard.combat.combatEngine.fightRoomMonster;
+import static com.palehorsestudios.ard.combat.combatEngine.fightRound;
 
 public class Ironman extends Player {
     Monster monster;
@@ -18,31 +19,17 @@ public class Ironman extends Player {
 
     @Override
     public String attack() {
-        StringBuilder sb = new StringBuilder();
-        int rand = ThreadLocalRandom.current().nextInt(2);
-        if(rand == 0) {
-            sb.append(fightRoomMonster(this));
-            if (getCurrentRoom().getMonsters().size() > 0) {
-                sb.append("\n").append(MonsterFightsPlayer(getCurrentRoom().getMonsters().get(0), this));
-            }
-        } else {
-            if (getCurrentRoom().getMonsters().size() > 0) {
-                sb.append(MonsterFightsPlayer(getCurrentRoom().getMonsters().get(0), this));
-            }
-            if(this.getLife() > 0) {
-                sb.append("\n").append(fightRoomMonster(this));
-            }
-        }
-        return sb.toString();
+        CombatLog log = new CombatLog(getName());
+        fightRound(this, log);
+        return CombatRenderer.ANSI.render(log);
     }
 
     @Override //generate more items
     public String useSpecialPower() {
-        if (this.getItemsInventory().contains(Item.valueOf("Power_stone"))) {
-            List<Item> inventory = getItemsInventory();
-            int random = (int) (Math.random() * Item.values().length + 1);
-            inventory.add(Item.values()[random]);
-            inventory.remove(Item.valueOf("Power_stone"));
+        if (this.getItemsInventory().contains(Item.Power_stone)) {
+            Inventory inventory = getItemsInventory();
+            inventory.remove(Item.Power_stone);
+            inventory.add(Item.values()[Dice.nextInt(Item.values().length)]);
             return this.getName() + " has power stone in inventory and just used special power to generate one more item!";
         } else {
             return "Can't use special power without power stone in inventory!";
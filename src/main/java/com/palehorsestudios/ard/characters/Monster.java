@@ -1,8 +1,9 @@
 package com.palehorsestudios.ard.characters;
 
-import com.palehorsestudios.ard.environment.Room;
 import com.palehorsestudios.ard.util.Codes;
-import com.palehorsestudios.ard.util.ConsoleManager;
+import com.palehorsestudios.ard.util.Dice;
+import com.palehorsestudios.ard.util.SnapshotReader;
+import com.palehorsestudios.ard.util.SnapshotWriter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -14,6 +15,8 @@ public abstract class Monster {
 
     private int x;
     private int y;
+    // picked once so the client draws the same monster every refresh
+    private String sprite = Dice.nextInt(1, 5) <= 2 ? "monster" : "monster2";
     //  private Room currentRoom;
 
     public Monster() {
@@ -57,34 +60,55 @@ public abstract class Monster {
         this.description = description;
     }
 
-    public void setCoord(Room room) {
-        int x;
-        int y;
-        if (room.getX() - 1 < 0) {
-            x = 0;
-        } else {
-            x = room.getX()-1;
-        }
-
-        if (room.getY() - 1 < 0) {
-            y = 0;
-        } else {
-            y = room.getY()-1;
-        }
-        this.x = ConsoleManager.getRandomInteger(x);
-        this.y = ConsoleManager.getRandomInteger(y);
-    };
+    /**
+     * Puts the monster on the given tile of its room. Called by Room, which keeps the room's grid in step.
+     *
+     * @param x column
+     * @param y row
+     */
+    public void setCoord(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Writes the monster to a session snapshot.
+     *
+     * @param out snapshot being written
+     */
+    public void writeTo(SnapshotWriter out) {
+        out.writeBoolean(this instanceof Boss);
+        out.writeString(name);
+        out.writeString(description);
+        out.writeSignedVarInt(life);
+        out.writeVarInt(x);
+        out.writeVarInt(y);
+        out.writeString(sprite);
+    }
+
+    /**
+     * Reads back a monster written by writeTo.
+     *
+     * @param in snapshot being read
+     * @return the monster
+     * @throws IllegalArgumentException if the snapshot is malformed
+     */
+    public static Monster readFrom(SnapshotReader in) throws IllegalArgumentException {
+        boolean boss = in.readBoolean();
+        String name = in.readString();
+        String description = in.readString();
+        int life = in.readSignedVarInt();
+        Monster monster = boss ? new Boss(name, life, description) : new Normal(name, life, description);
+        monster.setCoord(in.readVarInt(), in.readVarInt());
+        monster.sprite = in.readString();
+        return monster;
+    }
 
     public Map<String, String> getMonsterInfo() {
         Map<String, String> monsterInfo = new HashMap<>();
         monsterInfo.put("name", this.getName());
         monsterInfo.put("description", this.getDescription());
-        int rand = ConsoleManager.getRandomInteger(1, 5);
-        if (rand <= 2) {
-            monsterInfo.put("type", "monster");
-        } else {
-            monsterInfo.put("type", "monster2");
-        }
+        monsterInfo.put("type", sprite);
         monsterInfo.put("life", String.valueOf(this.getLife()));
         monsterInfo.put("x", String.valueOf(this.getX()));
         monsterInfo.put("y", String.valueOf(this.getY()));
@@ -1,19 +1,21 @@
 package com.palehorsestudios.ard.characters;
 import com.palehorsestudios.ard.environment.Item;
+import com.palehorsestudios.ard.environment.OccupancyGrid;
 import com.palehorsestudios.ard.environment.Room;
+import com.palehorsestudios.ard.environment.RoomMap;
 import com.palehorsestudios.ard.util.Codes;
-import com.palehorsestudios.ard.util.ConsoleManager;
+import com.palehorsestudios.ard.util.SnapshotReader;
+import com.palehorsestudios.ard.util.SnapshotWriter;
 
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 
 public abstract class Player {
     private String name;
     private int life;
     private Room currentRoom;
-    private List<Item> itemsInventory;
+    private Inventory itemsInventory;
     private int level;
     private int score = 0;
     private int x;
@@ -42,55 +44,59 @@ public abstract class Player {
 
 
     /**
-     * Set initial coord
+     * Set initial coord, on a tile nothing else in the room is on
      */
     private void setCoord() {
-        x = ConsoleManager.getRandomInteger(getCurrentRoom().getX()-1);
-        y = ConsoleManager.getRandomInteger(getCurrentRoom().getY()-1);
+        int tile = getCurrentRoom().freeTile();
+        setCoord(tile >>> 8, tile & 0xFF);
     };
 
-    public boolean setCoord(String direction) {
-        boolean success = false;
+    /**
+     * Takes one step in the given direction (up, down, left or right) within the current room. The step only happens
+     * if the tile is open or holds an item; walls, monsters and the chest block it.
+     *
+     * @param direction up, down, left or right
+     * @return what happened, for the player
+     */
+    public String navigate(String direction) {
         int x = getX();
         int y = getY();
-        int limitX = getCurrentRoom().getX();
-        int limitY = getCurrentRoom().getY();
-
         switch (direction) {
             case "up":
-                if (y < limitY - 1) {
-                    success = true;
-                    y += 1;
-                    setCoord(x, y);
-                }
+                y += 1;
                 break;
             case "down":
-                if (y > 0) {
-                    success = true;
-                    y -= 1;
-                    setCoord(x, y);
-                }
+                y -= 1;
                 break;
             case "right":
-                if (x < limitX - 1) {
-                    success = true;
-                    x += 1;
-                    setCoord(x, y);
-                }
+                x += 1;
                 break;
             case "left":
-                if (x > 0) {
-                    success = true;
-                    x -= 1;
-                    setCoord(x, y);
-                }
+                x -= 1;
                 break;
             default:
-                System.out.println("navigate player error");
-                break;
+                return "Banging my head against a wall...";
         }
-        return success;
-    };
+
+        Room room = getCurrentRoom();
+        short tile = room.tileAt(x, y);
+        switch (OccupancyGrid.kindOf(tile)) {
+            case OccupancyGrid.WALL:
+                return "Banging my head against a wall...";
+            case OccupancyGrid.MONSTER:
+                Monster monster = room.monsterAt(x, y);
+                return "Bumped into " + Codes.Monster.withColor(monster == null ? "a monster" : monster.getName()) + "!";
+            case OccupancyGrid.CHEST:
+                return "A " + Codes.Chest.withColor("chest") + " is in the way.";
+            case OccupancyGrid.ITEM:
+                setCoord(x, y);
+                return "Moving " + direction + ". There is a " + Codes.Item.withColor(OccupancyGrid.itemOf(tile).name())
+                        + " here.";
+            default:
+                setCoord(x, y);
+                return "Moving " + direction;
+        }
+    }
 
     private void setCoord (int x, int y) {
         this.x = x;
@@ -103,20 +109,12 @@ public abstract class Player {
      * if input is not in Item Enum, throw Exception
      */
     public String pickUpItem(String item) {
-        boolean validItem = false;
-        List<Item> currentItems = new ArrayList<>();
-        currentItems.addAll(currentRoom.getItems());
-        for(Item i : Item.values()) {
-            if (i.name().equals(item)) {
-                validItem = true;
-                break;
-            }
-        }
-        if (validItem && currentItems.contains(Item.valueOf(item))) {
-            itemsInventory.add(Item.valueOf(item));
-            currentRoom.grabItem(Item.valueOf(item));
+        Item found = Item.fromName(item);
+        if (found != null && currentRoom.grabItem(found)) {
+            itemsInventory.add(found);
             return "Picked up " + item + ".";
-        } else if (Room.ALL.contains(item.toLowerCase()) && currentItems.size() > 0) {
+        } else if (Room.ALL.contains(item.toLowerCase()) && currentRoom.getItems().size() > 0) {
+            List<Item> currentItems = new ArrayList<>(currentRoom.getItems());
             itemsInventory.addAll(currentItems);
             currentItems.forEach(currentItem -> currentRoom.grabItem(currentItem));
             return "Picked up all items in the current room.";
@@ -132,16 +130,9 @@ public abstract class Player {
      */
     public String dropItem(String item) {
         StringBuilder vsb = new StringBuilder();
-        boolean validItem = false;
-        for(Item i : Item.values()) {
-            if (i.name().equals(item)) {
-                validItem = true;
-                break;
-            }
-        }
-        if (validItem && itemsInventory.contains(Item.valueOf(item))) {
-            itemsInventory.remove(Item.valueOf(item));
-            currentRoom.addItem(Item.valueOf(item));
+        Item found = Item.fromName(item);
+        if (itemsInventory.remove(found)) {
+            currentRoom.addItem(found);
             vsb.append(item).append(" dropped.");
         } else {
             vsb.append("Can't drop this item! It's not in player's item inventory!");
@@ -184,12 +175,17 @@ public abstract class Player {
         this.setCoord();
     }
 
-    public List<Item> getItemsInventory() {
+    public Inventory getItemsInventory() {
         return itemsInventory;
     }
 
+    /**
+     * Replaces the inventory with the given items. The list is copied, so later changes to it don't reach the player.
+     *
+     * @param itemsInventory
+     */
     public void setItemsInventory(List<Item> itemsInventory) {
-        this.itemsInventory = itemsInventory;
+        this.itemsInventory = new Inventory(itemsInventory);
     }
 
     public String printStats() {
@@ -197,7 +193,7 @@ public abstract class Player {
         sb.append(Codes.Player.getCode()).append(Codes.Player.withColor(getName()));
         sb.append("\n").append(Codes.Life.getCode()).append(Codes.Life.withColor(getLife()));
         sb.append("\n").append(Codes.Room.getCode()).append(Codes.Room.withColor("Room " + getCurrentRoom().getId()));
-        sb.append("\n").append(Codes.Item.getCode()).append(getItemsInventory().stream()
+        sb.append("\n").append(Codes.Item.getCode()).append(getItemsInventory().toList().stream()
             .map(e -> Codes.Item.withColor(e.toString())).collect(Collectors.joining(", ")));
         sb.append("\n").append(Codes.Score.getCode()).append(Codes.Score.withColor(" Score " + getScore()));
         sb.append("\n").append(Codes.Level.getCode()).append(Codes.Level.withColor(" Level " + getLevel()));
@@ -211,8 +207,7 @@ public abstract class Player {
         playerInfo.put("life", String.valueOf(getLife()));
         playerInfo.put("lv", String.valueOf(getLevel()));
         playerInfo.put("score", String.valueOf(getScore()));
-        playerInfo.put("inv", getItemsInventory().stream()
-                .map(item -> item.toString()).collect(Collectors.joining(", ")));
+        playerInfo.put("inv", getItemsInventory().toString());
         playerInfo.put("x", String.valueOf(getX()));
         playerInfo.put("y", String.valueOf(getY()));
         return playerInfo;
@@ -238,11 +233,69 @@ public abstract class Player {
         setScore(getScore() + 10);
     }
 
-    public Set<Item> playerAndRoomItems() {
-        Set<Item> newList = Stream.of(getItemsInventory(), getCurrentRoom().getItems())
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
-        return newList;
+    /**
+     * Returns true if the item is in the player's inventory or in the current room.
+     *
+     * @param item
+     * @return
+     */
+    public boolean canSee(Item item) {
+        return itemsInventory.contains(item) || getCurrentRoom().hasItem(item);
+    }
+
+    /**
+     * Writes the player to a session snapshot. The current room is written as its id.
+     *
+     * @param out snapshot being written
+     */
+    public void writeTo(SnapshotWriter out) {
+        out.writeString(this instanceof Ironman ? "B" : "A");
+        out.writeString(name);
+        out.writeSignedVarInt(life);
+        out.writeVarInt(level);
+        out.writeVarInt(score);
+        out.writeVarInt(x);
+        out.writeVarInt(y);
+        out.writeVarInt(currentRoom.getId());
+        List<Item> items = itemsInventory.toList();
+        out.writeVarInt(items.size());
+        for (Item item : items) {
+            out.writeVarInt(item.ordinal());
+        }
+    }
+
+    /**
+     * Reads back a player written by writeTo, standing in its room on the given map.
+     *
+     * @param in  snapshot being read
+     * @param map the restored game map
+     * @return the player
+     * @throws IllegalArgumentException if the snapshot is malformed
+     */
+    public static Player readFrom(SnapshotReader in, RoomMap map) throws IllegalArgumentException {
+        String option = in.readString();
+        String name = in.readString();
+        int life = in.readSignedVarInt();
+        int level = in.readVarInt();
+        int score = in.readVarInt();
+        int x = in.readVarInt();
+        int y = in.readVarInt();
+        Room room = map.getRoom(in.readVarInt());
+        Item[] all = Item.values();
+        List<Item> items = new ArrayList<>();
+        for (int i = in.readVarInt(); i > 0; i--) {
+            items.add(all[in.readVarInt(all.length)]);
+        }
+        Player player = PlayerFactory.createPlayer(room, items, option);
+        if (player == null) {
+            throw new IllegalArgumentException("unknown player kind " + option);
+        }
+        player.setName(name);
+        player.setLife(life);
+        player.setLevel(level);
+        player.setScore(score);
+        player.setCoord(x, y);
+        return player;
     }
 
     @Override
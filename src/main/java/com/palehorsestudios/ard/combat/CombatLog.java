@@ -0,0 +1,130 @@
+package com.palehorsestudios.ard.combat;
+
+import java.util.Arrays;
+
+/**
+ * What happened in one fight command, as events rather than text. Each event packs into a single long (type, who
+ * struck, the flavor verb, damage and the target's remaining life) next to the monster's name, so recording a fight
+ * allocates nothing per hit. Nothing in the fight path prints; even swinging at an empty room is an event. A {@link CombatRenderer} turns the log into text only when someone needs it.
+ */
+public final class CombatLog {
+
+    /**
+     * Kinds of event.
+     */
+    public enum Type {
+        HIT,          // damage dealt, target still standing
+        MISS,         // no damage dealt
+        KILL,         // the player killed the monster
+        PLAYER_DEATH, // the monster killed the player
+        NO_TARGET     // the player swung, but there was no monster in the room; no monster name, damage or life
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private final String playerName;
+    private long[] events = new long[4];
+    private String[] monsters = new String[4];
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param playerName name of the player fighting
+     */
+    public CombatLog(String playerName) {
+        this.playerName = playerName;
+    }
+
+    /**
+     * Records the player striking a monster.
+     *
+     * @param monster       monster's name
+     * @param verb          index of the flavor verb to render with
+     * @param damage        damage dealt
+     * @param remainingLife monster's life afterwards
+     */
+    void playerStrikes(String monster, int verb, int damage, int remainingLife) {
+        add(remainingLife <= 0 ? Type.KILL : damage == 0 ? Type.MISS : Type.HIT, true, monster, verb, damage,
+                remainingLife);
+    }
+
+    /**
+     * Records a monster striking the player.
+     *
+     * @param monster       monster's name
+     * @param verb          index of the flavor verb to render with
+     * @param damage        damage dealt
+     * @param remainingLife player's life afterwards
+     */
+    void monsterStrikes(String monster, int verb, int damage, int remainingLife) {
+        add(remainingLife <= 0 ? Type.PLAYER_DEATH : damage == 0 ? Type.MISS : Type.HIT, false, monster, verb, damage,
+                remainingLife);
+    }
+
+    /**
+     * Records the player going for a monster in a room without one.
+     */
+    void noTarget() {
+        add(Type.NO_TARGET, true, null, 0, 0, 0);
+    }
+
+    private void add(Type type, boolean byPlayer, String monster, int verb, int damage, int remainingLife) {
+        if (size == events.length) {
+            events = Arrays.copyOf(events, size * 2);
+            monsters = Arrays.copyOf(monsters, size * 2);
+        }
+        events[size] = (long) remainingLife << 32 | (damage & 0xFFFFL) << 9 | (verb & 0x1F) << 4
+                | (byPlayer ? 8 : 0) | type.ordinal();
+        monsters[size] = monster;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public Type type(int index) {
+        return TYPES[(int) (events[index] & 7)];
+    }
+
+    /**
+     * Returns true if the player struck in this event, false if the monster did.
+     *
+     * @param index
+     * @return
+     */
+    public boolean byPlayer(int index) {
+        return (events[index] & 8) != 0;
+    }
+
+    public String monster(int index) {
+        return monsters[index];
+    }
+
+    int verb(int index) {
+        return (int) (events[index] >>> 4 & 0x1F);
+    }
+
+    public int damage(int index) {
+        return (int) (events[index] >>> 9 & 0xFFFF);
+    }
+
+    /**
+     * Life the target was left with: the monster's if the player struck, the player's otherwise.
+     *
+     * @param index
+     * @return
+     */
+    public int remainingLife(int index) {
+        return (int) (events[index] >> 32);
+    }
+}
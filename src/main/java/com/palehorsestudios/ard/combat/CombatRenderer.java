@@ -0,0 +1,153 @@
+package com.palehorsestudios.ard.combat;
+
+import com.palehorsestudios.ard.util.Codes;
+
+/**
+ * Ways to turn a {@link CombatLog} into text. ANSI is what the game has always shown; PLAIN is the same sentences
+ * without escape codes; JSON is an array of event objects for API clients.
+ */
+public enum CombatRenderer {
+    ANSI {
+        @Override
+        void render(CombatLog log, int i, StringBuilder sb) {
+            String player = Codes.Player.withColor(log.getPlayerName());
+            String monster = log.monster(i) == null ? null : Codes.Monster.withColor(log.monster(i));
+            switch (log.type(i)) {
+                case KILL:
+                    sb.append(player).append(" killed ").append(monster);
+                    break;
+                case PLAYER_DEATH:
+                    sb.append("Sorry ").append(monster).append(" killed ").append(Codes.Player.withColor("you."));
+                    break;
+                case NO_TARGET:
+                    sb.append(NO_TARGET);
+                    break;
+                default:
+                    if (log.byPlayer(i)) {
+                        sb.append(player).append(FIGHTS[log.verb(i)]).append(monster)
+                                .append(" and ").append(monster).append(" lost life value of: ")
+                                .append(Codes.Monster.getColor().negative(log.damage(i)))
+                                .append(monster).append(" current life value is: ")
+                                .append(Codes.Life.withColor(log.remainingLife(i)));
+                    } else {
+                        sb.append(monster).append(ATTACKS[log.verb(i)]).append(player)
+                                .append(" and ").append(player).append(" lost life value of: ")
+                                .append(Codes.Player.getColor().negative(log.damage(i)))
+                                .append(player).append(" current life value is: ")
+                                .append(Codes.Life.withColor(log.remainingLife(i)));
+                    }
+            }
+        }
+    },
+    PLAIN {
+        @Override
+        void render(CombatLog log, int i, StringBuilder sb) {
+            String player = log.getPlayerName();
+            String monster = log.monster(i);
+            switch (log.type(i)) {
+                case KILL:
+                    sb.append(player).append(" killed ").append(monster);
+                    break;
+                case PLAYER_DEATH:
+                    sb.append("Sorry ").append(monster).append(" killed you.");
+                    break;
+                case NO_TARGET:
+                    sb.append(NO_TARGET);
+                    break;
+                default:
+                    String attacker = log.byPlayer(i) ? player : monster;
+                    String target = log.byPlayer(i) ? monster : player;
+                    sb.append(attacker).append(log.byPlayer(i) ? FIGHTS[log.verb(i)] : ATTACKS[log.verb(i)])
+                            .append(target).append(" and ").append(target).append(" lost life value of: ")
+                            .append(log.damage(i)).append(". ").append(target).append(" current life value is: ")
+                            .append(log.remainingLife(i));
+            }
+        }
+    },
+    JSON {
+        @Override
+        public String render(CombatLog log) {
+            StringBuilder sb = new StringBuilder(64 * log.size() + 2).append('[');
+            for (int i = 0; i < log.size(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                render(log, i, sb);
+            }
+            return sb.append(']').toString();
+        }
+
+        @Override
+        void render(CombatLog log, int i, StringBuilder sb) {
+            sb.append("{\"type\":\"").append(log.type(i).name().toLowerCase())
+                    .append("\",\"by\":\"").append(log.byPlayer(i) ? "player" : "monster")
+                    .append("\",\"monster\":");
+            if (log.monster(i) == null) {
+                sb.append("null");
+            } else {
+                quote(log.monster(i), sb);
+            }
+            sb.append(",\"damage\":").append(log.damage(i))
+                    .append(",\"life\":").append(log.remainingLife(i)).append('}');
+        }
+    };
+
+    static final String NO_TARGET = "Just kidding! No monster in this room";
+
+    // verbs for a player's hit and a monster's hit; the engine picks an index, renderers look it up
+    static final String[] FIGHTS = {
+            " fiercely hit ",
+            " successfully evaded and furiously punched ",
+            " heavily overthrew ",
+            " swiftly elbowed ",
+            " unexpected kicked ",
+    };
+    static final String[] ATTACKS = {
+            " violently bit ",
+            " quietly stalked and suddenly attacked ",
+            " smartly dodged and viciously clawed ",
+            " aggressively knocked down ",
+            " ruthlessly hit "
+    };
+
+    /**
+     * Renders every event in the log, one per line.
+     *
+     * @param log events to render
+     * @return text
+     */
+    public String render(CombatLog log) {
+        StringBuilder sb = new StringBuilder(96 * log.size());
+        for (int i = 0; i < log.size(); i++) {
+            if (i > 0) {
+                sb.append("\n");
+            }
+            render(log, i, sb);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends one event.
+     *
+     * @param log   the log
+     * @param index which event
+     * @param sb    where to write it
+     */
+    abstract void render(CombatLog log, int index, StringBuilder sb);
+
+    private static void quote(String s, StringBuilder sb) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+}
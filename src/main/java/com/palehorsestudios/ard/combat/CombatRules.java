@@ -0,0 +1,83 @@
+package com.palehorsestudios.ard.combat;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * The fight rules, on plain ints: who strikes first, how hard a hit is, what a hit leaves, and what a kill is worth.
+ * {@link combatEngine} plays them on the live Player and Monster, drawing from Dice; {@link CombatSimulator} plays
+ * them on local ints, drawing from its own SplittableRandom. Both go through here, so a rule change reaches balance
+ * runs and the game together.
+ * <p>
+ * Rolls come from an IntBinaryOperator taking (origin inclusive, bound exclusive), e.g. Dice::nextInt or
+ * SplittableRandom::nextInt.
+ */
+public final class CombatRules {
+
+    private CombatRules() {
+    }
+
+    /**
+     * Decides who opens a round.
+     *
+     * @param roll source of rolls
+     * @return true if the player strikes first, false if the monster does
+     */
+    public static boolean playerStrikesFirst(IntBinaryOperator roll) {
+        return roll.applyAsInt(0, 2) == 0;
+    }
+
+    /**
+     * Damage of one hit, by either side.
+     *
+     * @param minDamage smallest damage, inclusive
+     * @param maxDamage largest damage, exclusive
+     * @param roll      source of rolls
+     * @return damage
+     */
+    public static int damage(int minDamage, int maxDamage, IntBinaryOperator roll) {
+        return roll.applyAsInt(minDamage, maxDamage);
+    }
+
+    /**
+     * Life left after a hit.
+     *
+     * @param life   life before the hit
+     * @param damage damage of the hit
+     * @return life after it
+     */
+    public static int struck(int life, int damage) {
+        return life - damage;
+    }
+
+    /**
+     * Whether a fighter with this much life can still fight.
+     *
+     * @param life current life
+     * @return true while life is above 0
+     */
+    public static boolean alive(int life) {
+        return life > 0;
+    }
+
+    /**
+     * The player's life after a kill.
+     *
+     * @param life       life before the reward
+     * @param lifeReward life gained per kill
+     * @return life after it
+     */
+    public static int rewarded(int life, int lifeReward) {
+        return life + lifeReward;
+    }
+
+    /**
+     * Life that monsters start with after one more kill.
+     *
+     * @param monsterLife     starting life before the kill
+     * @param monsterLifeStep life added per kill
+     * @return starting life after it
+     */
+    public static int nextMonsterLife(int monsterLife, int monsterLifeStep) {
+        return monsterLife + monsterLifeStep;
+    }
+}
@@ -0,0 +1,265 @@
+package com.palehorsestudios.ard.combat;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Headless version of the fight loop for balance runs. Plays whole games of back-to-back fights on plain ints (no
+ * Player, Room or Monster objects, no strings, no printing) through the same {@link CombatRules} as
+ * {@link combatEngine#fightRound}: each round one side strikes first, the other strikes back if still alive, and a
+ * kill levels the player up and makes the next monster tougher. Only the bookkeeping around the rules lives here, so
+ * changing a rule changes both. Runs are spread over a fork/join pool; each task gets its own split of one seeded
+ * SplittableRandom, so a seed gives the same report no matter how many threads run it.
+ */
+public final class CombatSimulator {
+    private static final long RUNS_PER_TASK = 4096;
+    private static final int MAX_ROUNDS = 100_000; // per run, in case zero damage ranges are simulated
+
+    private CombatSimulator() {
+    }
+
+    /**
+     * Balance knobs for a simulation. Defaults match the live game.
+     */
+    public static final class Rules {
+        final int playerLife;
+        final int lifeReward;
+        final int monsterLife;
+        final int monsterLifeStep;
+        final int minDamage;
+        final int maxDamage;
+        final int killsToWin;
+
+        /**
+         * Constructor
+         *
+         * @param playerLife      player's starting life
+         * @param lifeReward      life the player gains per kill
+         * @param monsterLife     first monster's life
+         * @param monsterLifeStep life added to every monster after each kill
+         * @param minDamage       smallest damage per hit, inclusive
+         * @param maxDamage       largest damage per hit, exclusive
+         * @param killsToWin      kills that count a run as won
+         */
+        public Rules(int playerLife, int lifeReward, int monsterLife, int monsterLifeStep, int minDamage, int maxDamage,
+                     int killsToWin) {
+            if (maxDamage <= minDamage) {
+                throw new IllegalArgumentException("maxDamage must be greater than minDamage");
+            }
+            this.playerLife = playerLife;
+            this.lifeReward = lifeReward;
+            this.monsterLife = monsterLife;
+            this.monsterLifeStep = monsterLifeStep;
+            this.minDamage = minDamage;
+            this.maxDamage = maxDamage;
+            this.killsToWin = killsToWin;
+        }
+
+        /**
+         * Returns the rules the game plays by: 100 player life, the standard {@link Difficulty}, and a run counts as
+         * won after 10 kills.
+         *
+         * @return default rules
+         */
+        public static Rules defaults() {
+            return new Rules(100, Difficulty.LIFE_REWARD, Difficulty.MONSTER_LIFE, Difficulty.MONSTER_LIFE_STEP,
+                    Difficulty.MIN_DAMAGE, Difficulty.MAX_DAMAGE, 10);
+        }
+    }
+
+    /**
+     * Totals over a batch of runs.
+     */
+    public static final class Report {
+        private long runs;
+        private long wins;
+        private long kills;
+        private long roundsToKill; // rounds spent on monsters that were killed
+        private long elapsedNanos;
+
+        private Report merge(Report other) {
+            runs += other.runs;
+            wins += other.wins;
+            kills += other.kills;
+            roundsToKill += other.roundsToKill;
+            return this;
+        }
+
+        public long getRuns() {
+            return runs;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        public long getKills() {
+            return kills;
+        }
+
+        public double winRate() {
+            return runs == 0 ? 0 : (double) wins / runs;
+        }
+
+        public double meanKills() {
+            return runs == 0 ? 0 : (double) kills / runs;
+        }
+
+        public double meanRoundsToKill() {
+            return kills == 0 ? 0 : (double) roundsToKill / kills;
+        }
+
+        public double runsPerSecond() {
+            return elapsedNanos == 0 ? 0 : runs * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("runs=%d winRate=%.4f meanKills=%.3f meanRoundsToKill=%.3f runsPerSecond=%.0f",
+                    runs, winRate(), meanKills(), meanRoundsToKill(), runsPerSecond());
+        }
+    }
+
+    /**
+     * Simulates the given number of runs on the common fork/join pool.
+     *
+     * @param rules balance knobs
+     * @param runs  number of games to play
+     * @param seed  seed for the whole batch
+     * @return totals
+     */
+    public static Report simulate(Rules rules, long runs, long seed) {
+        return simulate(rules, runs, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Simulates the given number of runs on the given pool.
+     *
+     * @param rules balance knobs
+     * @param runs  number of games to play
+     * @param seed  seed for the whole batch
+     * @param pool  where to run
+     * @return totals
+     */
+    public static Report simulate(Rules rules, long runs, long seed, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        Report report = pool.invoke(new Batch(rules, runs, new SplittableRandom(seed)));
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private static final class Batch extends RecursiveTask<Report> {
+        private final Rules rules;
+        private final long runs;
+        private final SplittableRandom random;
+
+        Batch(Rules rules, long runs, SplittableRandom random) {
+            this.rules = rules;
+            this.runs = runs;
+            this.random = random;
+        }
+
+        @Override
+        protected Report compute() {
+            if (runs <= RUNS_PER_TASK) {
+                Report report = new Report();
+                for (long i = 0; i < runs; i++) {
+                    play(rules, random, report);
+                }
+                return report;
+            }
+            // split before either half draws anything, so the tree of streams depends only on runs and the seed
+            Batch left = new Batch(rules, runs / 2, random.split());
+            Batch right = new Batch(rules, runs - runs / 2, random);
+            left.fork();
+            return right.compute().merge(left.join());
+        }
+    }
+
+    /**
+     * Plays one game: fight monsters one after another until the player dies or reaches killsToWin.
+     */
+    static void play(Rules rules, SplittableRandom random, Report report) {
+        IntBinaryOperator roll = random::nextInt;
+        int playerLife = rules.playerLife;
+        int nextMonsterLife = rules.monsterLife;
+        int monsterLife = nextMonsterLife;
+        int kills = 0;
+        int rounds = 0;
+
+        for (int round = 0; round < MAX_ROUNDS && CombatRules.alive(playerLife) && kills < rules.killsToWin; round++) {
+            rounds++;
+            if (CombatRules.playerStrikesFirst(roll)) {
+                monsterLife = CombatRules.struck(monsterLife,
+                        CombatRules.damage(rules.minDamage, rules.maxDamage, roll));
+                if (CombatRules.alive(monsterLife)) {
+                    playerLife = CombatRules.struck(playerLife,
+                            CombatRules.damage(rules.minDamage, rules.maxDamage, roll));
+                }
+            } else {
+                playerLife = CombatRules.struck(playerLife,
+                        CombatRules.damage(rules.minDamage, rules.maxDamage, roll));
+                if (CombatRules.alive(playerLife)) {
+                    monsterLife = CombatRules.struck(monsterLife,
+                            CombatRules.damage(rules.minDamage, rules.maxDamage, roll));
+                }
+            }
+            if (!CombatRules.alive(monsterLife)) {
+                kills++;
+                report.roundsToKill += rounds;
+                rounds = 0;
+                playerLife = CombatRules.rewarded(playerLife, rules.lifeReward);
+                nextMonsterLife = CombatRules.nextMonsterLife(nextMonsterLife, rules.monsterLifeStep);
+                monsterLife = nextMonsterLife;
+            }
+        }
+        report.runs++;
+        report.kills += kills;
+        if (kills >= rules.killsToWin) {
+            report.wins++;
+        }
+    }
+
+    /**
+     * Runs a simulation from the command line and prints the report. Arguments are name=value pairs, any of: runs,
+     * seed, playerLife, lifeReward, monsterLife, monsterLifeStep, minDamage, maxDamage, killsToWin.
+     *
+     * @param args name=value pairs
+     */
+    public static void main(String[] args) {
+        Rules defaults = Rules.defaults();
+        long runs = 1_000_000;
+        long seed = 42;
+        int playerLife = defaults.playerLife;
+        int lifeReward = defaults.lifeReward;
+        int monsterLife = defaults.monsterLife;
+        int monsterLifeStep = defaults.monsterLifeStep;
+        int minDamage = defaults.minDamage;
+        int maxDamage = defaults.maxDamage;
+        int killsToWin = defaults.killsToWin;
+
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected name=value, got " + arg);
+            }
+            long value = Long.parseLong(pair[1]);
+            switch (pair[0]) {
+                case "runs": runs = value; break;
+                case "seed": seed = value; break;
+                case "playerLife": playerLife = (int) value; break;
+                case "lifeReward": lifeReward = (int) value; break;
+                case "monsterLife": monsterLife = (int) value; break;
+                case "monsterLifeStep": monsterLifeStep = (int) value; break;
+                case "minDamage": minDamage = (int) value; break;
+                case "maxDamage": maxDamage = (int) value; break;
+                case "killsToWin": killsToWin = (int) value; break;
+                default: throw new IllegalArgumentException("Unknown option " + pair[0]);
+            }
+        }
+        Rules rules = new Rules(playerLife, lifeReward, monsterLife, monsterLifeStep, minDamage, maxDamage, killsToWin);
+        System.out.println(simulate(rules, runs, seed));
+    }
+}
@@ -0,0 +1,91 @@
+package com.palehorsestudios.ard.combat;
+
+import com.palehorsestudios.ard.util.Dice;
+
+/**
+ * How hard one game is and how it gets harder: the life new monsters start with, how much that grows per kill, the
+ * damage range of every hit and what the player gains per kill. Each game has its own, shared by its map, rooms and
+ * combat, so a kill in one session doesn't make monsters tougher in another. A game's commands run one at a time,
+ * so nothing here is synchronized.
+ */
+public final class Difficulty {
+    public static final int MONSTER_LIFE = 50;
+    public static final int MONSTER_LIFE_STEP = 20;
+    public static final int MIN_DAMAGE = 0;
+    public static final int MAX_DAMAGE = 30; // exclusive
+    public static final int LIFE_REWARD = 20;
+
+    private int monsterLife;
+    private final int monsterLifeStep;
+    private final int minDamage;
+    private final int maxDamage;
+    private final int lifeReward;
+
+    /**
+     * Constructor for the standard difficulty.
+     */
+    public Difficulty() {
+        this(MONSTER_LIFE, MONSTER_LIFE_STEP, MIN_DAMAGE, MAX_DAMAGE, LIFE_REWARD);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param monsterLife     life of monsters made before the first kill
+     * @param monsterLifeStep life added to new monsters per kill
+     * @param minDamage       smallest damage per hit, inclusive
+     * @param maxDamage       largest damage per hit, exclusive
+     * @param lifeReward      life the player gains per kill
+     */
+    public Difficulty(int monsterLife, int monsterLifeStep, int minDamage, int maxDamage, int lifeReward) {
+        if (maxDamage <= minDamage) {
+            throw new IllegalArgumentException("maxDamage must be greater than minDamage");
+        }
+        this.monsterLife = monsterLife;
+        this.monsterLifeStep = monsterLifeStep;
+        this.minDamage = minDamage;
+        this.maxDamage = maxDamage;
+        this.lifeReward = lifeReward;
+    }
+
+    /**
+     * Life that a monster made now starts with.
+     *
+     * @return
+     */
+    public int getMonsterStartingLife() {
+        return monsterLife;
+    }
+
+    public int getMonsterLifeStep() {
+        return monsterLifeStep;
+    }
+
+    public int getMinDamage() {
+        return minDamage;
+    }
+
+    public int getMaxDamage() {
+        return maxDamage;
+    }
+
+    public int getLifeReward() {
+        return lifeReward;
+    }
+
+    /**
+     * Makes monsters made from now on tougher. Called once per kill.
+     */
+    public void levelUp() {
+        monsterLife = CombatRules.nextMonsterLife(monsterLife, monsterLifeStep);
+    }
+
+    /**
+     * Random damage for one hit.
+     *
+     * @return damage between minDamage (inclusive) and maxDamage (exclusive)
+     */
+    public int randomDamage() {
+        return CombatRules.damage(minDamage, maxDamage, Dice::nextInt);
+    }
+}
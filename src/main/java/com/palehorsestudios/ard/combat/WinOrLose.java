@@ -1,30 +1,30 @@
 package com.palehorsestudios.ard.combat;
 
 import com.palehorsestudios.ard.characters.Player;
-import static com.palehorsestudios.ard.characters.MonsterFactory.getMonsterStartingLife;
-import static com.palehorsestudios.ard.characters.MonsterFactory.setMonsterStartingLife;
 
 public class WinOrLose {
 
     /**
-     * Call this method when monster is defeated to level up player.
+     * Call this method when monster is defeated to level up player. Makes the rest of this game's monsters tougher.
      *
      * @param player current game player
      */
     public static void LevelUp(Player player) {
+        Difficulty difficulty = player.getCurrentRoom().getDifficulty();
         player.setLevel(player.getLevel() + 1);
-        IncreasePlayerLife(player);
-        setMonsterStartingLife(getMonsterStartingLife() + 20);
+        IncreasePlayerLife(player, difficulty);
+        difficulty.levelUp();
     }
 
     /**
-     * Increment player life
+     * Increment player life by the game's reward per kill
      * package private for test purposes.
      *
      * @param player current player
+     * @param difficulty the game's difficulty
      */
-    static void IncreasePlayerLife(Player player) {
-        player.setLife(player.getLife() + 20);
+    static void IncreasePlayerLife(Player player, Difficulty difficulty) {
+        player.setLife(CombatRules.rewarded(player.getLife(), difficulty.getLifeReward()));
     }
 
 }
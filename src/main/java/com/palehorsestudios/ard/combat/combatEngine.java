@@ -4,57 +4,70 @@ import com.palehorsestudios.ard.Game;
 import com.palehorsestudios.ard.characters.Monster;
 import com.palehorsestudios.ard.characters.Player;
 import com.palehorsestudios.ard.environment.Room;
-import com.palehorsestudios.ard.util.Codes;
-
-import java.util.concurrent.ThreadLocalRandom;
+import com.palehorsestudios.ard.util.Dice;
 
 import static com.palehorsestudios.ard.combat.WinOrLose.LevelUp;
 
 public class combatEngine {
 
+  /**
+   * Plays one round of the fight in the player's room: whoever the rules pick strikes first, and the other side
+   * strikes back if it is still standing.
+   *
+   * @param player current player
+   * @param log where to record the fight
+   */
+  public static void fightRound(Player player, CombatLog log) {
+    if (CombatRules.playerStrikesFirst(Dice::nextInt)) {
+      fightRoomMonster(player, log);
+      if (player.getCurrentRoom().getMonsters().size() > 0) {
+        MonsterFightsPlayer(player.getCurrentRoom().getMonsters().get(0), player, log);
+      }
+    } else {
+      if (player.getCurrentRoom().getMonsters().size() > 0) {
+        MonsterFightsPlayer(player.getCurrentRoom().getMonsters().get(0), player, log);
+      }
+      if (checkIfPlayerAlive(player)) {
+        fightRoomMonster(player, log);
+      }
+    }
+  }
+
   /**
    * static method a player can call to attack monsters
    *
    * @param player current player
    */
   public static String fightRoomMonster(Player player) {
-    StringBuilder sb = new StringBuilder();
-    String[] fights = {
-      " fiercely hit ",
-      " successfully evaded and furiously punched ",
-      " heavily overthrew ",
-      " swiftly elbowed ",
-      " unexpected kicked ",
-    };
-    int rand = ThreadLocalRandom.current().nextInt(fights.length);
+    CombatLog log = new CombatLog(player.getName());
+    fightRoomMonster(player, log);
+    return CombatRenderer.ANSI.render(log);
+  }
 
+  /**
+   * The player strikes the first monster in the room, recording what happened in the log. Kills level the player
+   * up. With no monster in the room that is recorded too, and nothing changes.
+   *
+   * @param player current player
+   * @param log where to record the fight
+   */
+  public static void fightRoomMonster(Player player, CombatLog log) {
     if (checkForMonsterInRoom(player.getCurrentRoom())) {
       Monster monster = player.getCurrentRoom().getMonsters().get(0);
-      int lifeValue = monster.getLife();
-      int damage = randomDamage();
-      lifeValue -= damage;
+      int damage = player.getCurrentRoom().getDifficulty().randomDamage();
+      int lifeValue = CombatRules.struck(monster.getLife(), damage);
       monster.setLife(lifeValue);
+      player.getCurrentRoom().roomChanged();
+      log.playerStrikes(monster.getName(), Dice.nextInt(CombatRenderer.FIGHTS.length),
+          damage, lifeValue);
       if (!checkIfMonsterAlive(player.getCurrentRoom())) {
         removeDefeatedMonsterFromRoom(player.getCurrentRoom());
         LevelUp(player);
         player.incrementScore();
-        sb.append(Codes.Player.withColor(player.getName()))
-            .append(" killed ")
-            .append(Codes.Monster.withColor(monster.getName()));
-      } else {
-        sb.append(Codes.Player.withColor(player.getName()))
-            .append(fights[rand])
-            .append(Codes.Monster.withColor(monster.getName()))
-            .append(" and ")
-            .append(Codes.Monster.withColor(monster.getName()))
-            .append(" lost life value of: ")
-            .append(Codes.Monster.getColor().negative(damage));
-        sb.append(Codes.Monster.withColor(monster.getName()))
-            .append(" current life value is: ")
-            .append(Codes.Life.withColor(lifeValue));
       }
+    } else {
+      log.noTarget();
     }
-    return sb.toString();
   }
 
   /**
@@ -64,37 +77,26 @@ public class combatEngine {
    * @param player the player currently in the room with the monster.
    */
   public static String MonsterFightsPlayer(Monster monster, Player player) {
-    StringBuilder sb = new StringBuilder();
-    String[] attacks = {
-      " violently bit ",
-      " quietly stalked and suddenly attacked ",
-      " smartly dodged and viciously clawed ",
-      " aggressively knocked down ",
-      " ruthlessly hit "
-    };
-    int rand = ThreadLocalRandom.current().nextInt(attacks.length);
+    CombatLog log = new CombatLog(player.getName());
+    MonsterFightsPlayer(monster, player, log);
+    return CombatRenderer.ANSI.render(log);
+  }
 
+  /**
+   * The monster strikes the player, if the room's first monster is still alive, recording what happened in the log.
+   *
+   * @param monster the monster in the current room.
+   * @param player the player currently in the room with the monster.
+   * @param log where to record the fight
+   */
+  public static void MonsterFightsPlayer(Monster monster, Player player, CombatLog log) {
     if (checkIfMonsterAlive(player.getCurrentRoom())) {
-      int lifeValue = player.getLife();
-      int damage = randomDamage();
-      lifeValue -= damage;
+      int damage = player.getCurrentRoom().getDifficulty().randomDamage();
+      int lifeValue = CombatRules.struck(player.getLife(), damage);
       player.setLife(lifeValue);
-      if (!checkIfPlayerAlive(player)) {
-        sb.append(ifPlayerDeath(monster, player));
-      } else {
-        sb.append(Codes.Monster.withColor(monster.getName()))
-            .append(attacks[rand])
-            .append(Codes.Player.withColor(player.getName()))
-            .append(" and ")
-            .append(Codes.Player.withColor(player.getName()))
-            .append(" lost life value of: ")
-            .append(Codes.Player.getColor().negative(damage));
-        sb.append(Codes.Player.withColor(player.getName()))
-            .append(" current life value is: ")
-            .append(Codes.Life.withColor(lifeValue));
-      }
+      log.monsterStrikes(monster.getName(), Dice.nextInt(CombatRenderer.ATTACKS.length),
+          damage, lifeValue);
     }
-    return sb.toString();
   }
 
     /**
@@ -104,12 +106,7 @@ public class combatEngine {
      * @return return true if a monster is present in the current room, false otherwise
      */
     public static boolean checkForMonsterInRoom(Room currentRoom) {
-        boolean monsterPresent = true;
-        if (currentRoom.getMonsters().size() == 0) {
-            System.out.println("Just kidding! No monster in this room");
-            monsterPresent = false;
-        }
-        return monsterPresent;
+        return currentRoom.getMonsters().size() > 0;
     }
 
     /**
@@ -129,11 +126,7 @@ public class combatEngine {
      * @return true or false depending if a monster is in the room
      */
     static boolean checkIfMonsterAlive(Room currentRoom) {
-        boolean alive = false;
-        if (currentRoom.getMonsters().get(0).getLife() > 0) {
-            alive = true;
-        }
-        return alive;
+        return CombatRules.alive(currentRoom.getMonsters().get(0).getLife());
     }
 
     /**
@@ -144,29 +137,6 @@ public class combatEngine {
      * @return true or false based on player's life value
      */
     public static boolean checkIfPlayerAlive(Player player) {
-        boolean alive = false;
-        if (player.getLife() > 0) {
-            alive = true;
-        }
-        return alive;
-    }
-
-    /**
-     * end the game when monster kills current player
-     *
-     * @param monster current room's monster
-     */
-    private static String ifPlayerDeath(Monster monster, Player player) {
-        return "Sorry " + Codes.Monster.withColor(monster.getName()) + " killed "
-                + Codes.Player.withColor("you.");
-    }
-
-    /**
-     * generates random number to simulate damage
-     *
-     * @return random int
-     */
-    private static int randomDamage() {
-        return ThreadLocalRandom.current().nextInt(0, 30);
+        return CombatRules.alive(player.getLife());
     }
-}
\ No newline at end of file
+}
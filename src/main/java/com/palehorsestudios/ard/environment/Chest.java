@@ -2,12 +2,16 @@ package com.palehorsestudios.ard.environment;
 
 import com.palehorsestudios.ard.util.Codes;
 import com.palehorsestudios.ard.util.ConsoleManager;
+import com.palehorsestudios.ard.util.Dice;
+import com.palehorsestudios.ard.util.SnapshotReader;
+import com.palehorsestudios.ard.util.SnapshotWriter;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -24,6 +28,12 @@ public class Chest {
         reward = makeAward();
     }
 
+    // restores a chest from a snapshot, reward and all
+    private Chest(Puzzle puzzle, List<Item> reward) {
+        this.puzzle = puzzle;
+        this.reward = reward;
+    }
+
     public List<Item> getReward() { return reward; }
     public boolean isBroken() {
         return broken;
@@ -41,23 +51,10 @@ public class Chest {
         return y;
     }
 
-    public void setCoord(Room room) {
-        int x;
-        int y;
-        if (room.getX() - 1 < 0) {
-            x = 0;
-        } else {
-            x = room.getX()-1;
-        }
-
-        if (room.getY() - 1 < 0) {
-            y = 0;
-        } else {
-            y = room.getY()-1;
-        }
-        this.x = ConsoleManager.getRandomInteger(x);
-        this.y = ConsoleManager.getRandomInteger(y);
-    };
+    void setCoord(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
 
     /**
      * Helper method to get a bunch of random items (not power stones) and put it into reward list.
@@ -66,8 +63,8 @@ public class Chest {
         List<Item> result = new ArrayList<>();
         int scale = puzzle.getDifficultyInt();
         int items = Item.values().length;
-        for (int i = 0; i < ThreadLocalRandom.current().nextInt(scale, scale * 2); i++) {
-            result.add(Item.values()[ThreadLocalRandom.current().nextInt(items - 6)]);
+        for (int i = 0; i < Dice.nextInt(scale, scale * 2); i++) {
+            result.add(Item.values()[Dice.nextInt(items - 6)]);
         }
         return result;
     }
@@ -138,6 +135,56 @@ public class Chest {
         return choice;
     }
 
+    /**
+     * Writes the chest, its puzzle and its reward to a session snapshot.
+     *
+     * @param out snapshot being written
+     */
+    void writeTo(SnapshotWriter out) {
+        out.writeString(puzzle.getQuestion());
+        out.writeString(puzzle.getDifficulty());
+        out.writeString(puzzle.getAnswer());
+        out.writeVarInt(puzzle.getWrong_answers().size());
+        for (String answer : puzzle.getWrong_answers()) {
+            out.writeString(answer);
+        }
+        out.writeVarInt(reward.size());
+        for (Item item : reward) {
+            out.writeVarInt(item.ordinal());
+        }
+        out.writeBoolean(broken);
+        out.writeVarInt(correctAnswer);
+        out.writeVarInt(x);
+        out.writeVarInt(y);
+    }
+
+    /**
+     * Reads back a chest written by writeTo. Its coordinates are set but not claimed on any grid.
+     *
+     * @param in snapshot being read
+     * @return the chest
+     * @throws IllegalArgumentException if the snapshot is malformed
+     */
+    static Chest readFrom(SnapshotReader in) throws IllegalArgumentException {
+        String question = in.readString();
+        String difficulty = in.readString();
+        String answer = in.readString();
+        Set<String> wrong = new LinkedHashSet<>();
+        for (int i = in.readVarInt(); i > 0; i--) {
+            wrong.add(in.readString());
+        }
+        Item[] all = Item.values();
+        List<Item> reward = new ArrayList<>();
+        for (int i = in.readVarInt(); i > 0; i--) {
+            reward.add(all[in.readVarInt(all.length)]);
+        }
+        Chest chest = new Chest(new Puzzle(question, difficulty, answer, wrong), reward);
+        chest.broken = in.readBoolean();
+        chest.correctAnswer = in.readVarInt();
+        chest.setCoord(in.readVarInt(), in.readVarInt());
+        return chest;
+    }
+
     public Map<String, String> getChestInfo() {
         Map<String, String> chestInfo = new HashMap<>();
         StringBuilder name = new StringBuilder();
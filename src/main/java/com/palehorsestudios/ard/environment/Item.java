@@ -1,10 +1,6 @@
 package com.palehorsestudios.ard.environment;
 
-import com.palehorsestudios.ard.util.ConsoleManager;
-
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public enum Item {
@@ -23,51 +19,47 @@ public enum Item {
     Time_stone("It has the ability to manipulate time."),
     Soul_stone("A soul for a soul.");
 
-    private String description;
-    private int x;
-    private int y;
+    private static final Item[] ITEMS = values();
+
+    private final String description;
 
     Item(String description) {
         this.description = description;
     }
 
-    void setCoord(Room room) {
-        int x;
-        int y;
-        if (room.getX() - 1 < 0) {
-            x = 0;
-        } else {
-            x = room.getX() - 1;
-        }
-
-        if (room.getY() - 1 < 0) {
-            y = 0;
-        } else {
-            y = room.getY() - 1;
+    /**
+     * Returns the item with exactly the given name, or null if there is none. Unlike valueOf, never throws.
+     *
+     * @param name
+     * @return item or null
+     */
+    public static Item fromName(String name) {
+        for (Item item : ITEMS) {
+            if (item.name().equals(name)) {
+                return item;
+            }
         }
-        this.x = ConsoleManager.getRandomInteger(x);
-        this.y = ConsoleManager.getRandomInteger(y);
-    };
-
-    public int getX() {
-        return x;
-    }
-
-    public int getY() {
-        return y;
+        return null;
     }
 
     public String getDescription() {
         return description;
     }
 
-    public Map<String, String> getItemInfo() {
+    /**
+     * Returns the client info for this item lying at the given tile.
+     *
+     * @param x tile column
+     * @param y tile row
+     * @return
+     */
+    public Map<String, String> getItemInfo(int x, int y) {
         Map<String, String> itemInfo = new HashMap<>();
         itemInfo.put("name", this.name());
         itemInfo.put("description", this.getDescription());
         itemInfo.put("type", "item");
-        itemInfo.put("x", String.valueOf(this.getX()));
-        itemInfo.put("y", String.valueOf(this.getY()));
+        itemInfo.put("x", String.valueOf(x));
+        itemInfo.put("y", String.valueOf(y));
 
         return itemInfo;
     }
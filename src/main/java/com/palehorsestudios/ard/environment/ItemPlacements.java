@@ -0,0 +1,97 @@
+package com.palehorsestudios.ard.environment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The items lying in one room and where each one lies. Every placement is a single int: the item's ordinal in the
+ * high bits and its x and y tile in the low two bytes. Each room owns its placements, so two rooms (or two games)
+ * holding a Sword never share its coordinates.
+ */
+final class ItemPlacements {
+    private static final Item[] ITEMS = Item.values();
+
+    private int[] placements = new int[4];
+    private int size;
+
+    private static int pack(Item item, int x, int y) {
+        return item.ordinal() << 16 | (x & 0xFF) << 8 | (y & 0xFF);
+    }
+
+    /**
+     * Places an item at the given tile, after any items already placed.
+     *
+     * @param item
+     * @param x    tile column, 0 to 255
+     * @param y    tile row, 0 to 255
+     */
+    void add(Item item, int x, int y) {
+        if (size == placements.length) {
+            placements = Arrays.copyOf(placements, size * 2);
+        }
+        placements[size++] = pack(item, x, y);
+    }
+
+    /**
+     * Removes the first placement of the given item, keeping the others in order.
+     *
+     * @param item
+     * @return index the placement had, or -1 if the item isn't in the room
+     */
+    int remove(Item item) {
+        int index = indexOf(item);
+        if (index >= 0) {
+            System.arraycopy(placements, index + 1, placements, index, size - index - 1);
+            size--;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of the first placement of the given item, or -1 if there is none.
+     *
+     * @param item
+     * @return
+     */
+    int indexOf(Item item) {
+        if (item != null) {
+            int ordinal = item.ordinal();
+            for (int i = 0; i < size; i++) {
+                if (placements[i] >>> 16 == ordinal) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    Item item(int index) {
+        return ITEMS[placements[index] >>> 16];
+    }
+
+    int x(int index) {
+        return placements[index] >>> 8 & 0xFF;
+    }
+
+    int y(int index) {
+        return placements[index] & 0xFF;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the placed items as a new list, in placement order.
+     *
+     * @return
+     */
+    List<Item> items() {
+        List<Item> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(item(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,148 @@
+package com.palehorsestudios.ard.environment;
+
+import com.palehorsestudios.ard.util.Dice;
+
+/**
+ * What lies on each tile of a room: one short per tile, with the kind of thing (item, monster or chest) in the high
+ * byte and, for items, the item's ordinal in the low byte. Anything off the grid reads as a wall. Lets navigation
+ * answer "what is at this tile" with one array read instead of scanning the room's lists.
+ */
+public final class OccupancyGrid {
+    public static final int EMPTY = 0;
+    public static final int ITEM = 1;
+    public static final int MONSTER = 2;
+    public static final int CHEST = 3;
+    public static final int WALL = 4;
+
+    static final short MONSTER_TILE = MONSTER << 8;
+    static final short CHEST_TILE = CHEST << 8;
+    private static final short WALL_TILE = WALL << 8;
+    private static final Item[] ITEMS = Item.values();
+
+    private final short[] tiles;
+    private final int width;
+    private final int height;
+
+    /**
+     * Constructor for an empty grid.
+     *
+     * @param width  number of columns
+     * @param height number of rows
+     */
+    OccupancyGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        tiles = new short[width * height];
+    }
+
+    /**
+     * Returns the tile value for an item lying on a tile.
+     *
+     * @param item
+     * @return
+     */
+    static short itemTile(Item item) {
+        return (short) (ITEM << 8 | item.ordinal());
+    }
+
+    /**
+     * Returns the kind of thing a tile value holds: EMPTY, ITEM, MONSTER, CHEST or WALL.
+     *
+     * @param tile value from Room.tileAt
+     * @return kind
+     */
+    public static int kindOf(short tile) {
+        return tile >>> 8;
+    }
+
+    /**
+     * Returns the item on an ITEM tile.
+     *
+     * @param tile value from Room.tileAt, of kind ITEM
+     * @return
+     */
+    public static Item itemOf(short tile) {
+        return ITEMS[tile & 0xFF];
+    }
+
+    /**
+     * Returns what is at the given tile, or a WALL tile if it is off the grid.
+     *
+     * @param x column
+     * @param y row
+     * @return tile value
+     */
+    short get(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return WALL_TILE;
+        }
+        return tiles[y * width + x];
+    }
+
+    /**
+     * Empties the tile, but only if it still holds the given value. Something placed on a full grid overlaps an
+     * earlier occupant without owning the tile, and removing it must not clear that occupant.
+     *
+     * @param x        column
+     * @param y        row
+     * @param expected value the tile should hold
+     */
+    void clear(int x, int y, short expected) {
+        if (get(x, y) == expected) {
+            tiles[y * width + x] = EMPTY;
+        }
+    }
+
+    /**
+     * Puts value on the given tile if it is empty, the way claimFree would had it picked that tile. Used when
+     * restoring a room from a snapshot.
+     *
+     * @param x     column
+     * @param y     row
+     * @param value what to put on the tile
+     */
+    void claim(int x, int y, short value) {
+        if (get(x, y) == EMPTY) {
+            tiles[y * width + x] = value;
+        }
+    }
+
+    /**
+     * Picks a random empty tile with x below maxX and y below maxY. If every tile in that range is taken, returns a
+     * random one anyway.
+     *
+     * @param maxX columns to choose from, at most the grid width
+     * @param maxY rows to choose from, at most the grid height
+     * @return chosen tile, packed as x &lt;&lt; 8 | y
+     */
+    int findFree(int maxX, int maxY) {
+        maxX = Math.max(1, Math.min(maxX, width));
+        maxY = Math.max(1, Math.min(maxY, height));
+        int count = maxX * maxY;
+        int start = Dice.nextInt(count);
+        for (int i = 0; i < count; i++) {
+            int cell = (start + i) % count;
+            if (tiles[cell / maxX * width + cell % maxX] == EMPTY) {
+                return cell % maxX << 8 | cell / maxX;
+            }
+        }
+        return start % maxX << 8 | start / maxX;
+    }
+
+    /**
+     * Puts value on a tile chosen by findFree. On a full range the tile is shared and keeps its earlier occupant.
+     *
+     * @param maxX  columns to choose from
+     * @param maxY  rows to choose from
+     * @param value what to put on the tile
+     * @return chosen tile, packed as x &lt;&lt; 8 | y
+     */
+    int claimFree(int maxX, int maxY, short value) {
+        int tile = findFree(maxX, maxY);
+        int index = (tile & 0xFF) * width + (tile >>> 8);
+        if (tiles[index] == EMPTY) {
+            tiles[index] = value;
+        }
+        return tile;
+    }
+}
@@ -1,9 +1,10 @@
 package com.palehorsestudios.ard.environment;
 
+import com.palehorsestudios.ard.util.Dice;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class Puzzle {
     private String question;
@@ -38,6 +39,10 @@ public class Puzzle {
         return wrong_answers;
     }
 
+    String getDifficulty() {
+        return difficulty;
+    }
+
     /**
      * Returns all the answers to the question. The correct answer is somewhere randomly in the mixture.
      *
@@ -45,7 +50,7 @@ public class Puzzle {
      */
     public List<String> getAllAnswers() {
         List<String> temp = new ArrayList<>(wrong_answers);
-        temp.add(ThreadLocalRandom.current().nextInt(temp.size() + 1), answer);
+        temp.add(Dice.nextInt(temp.size() + 1), answer);
         return temp;
     }
 
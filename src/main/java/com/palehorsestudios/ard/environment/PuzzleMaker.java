@@ -1,62 +1,26 @@
 package com.palehorsestudios.ard.environment;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
+import com.palehorsestudios.ard.util.ContentCatalog;
+import com.palehorsestudios.ard.util.Dice;
 
 public class PuzzleMaker {
 
-    private NodeList puzzles;
-    @Value("classpath:puzzles/many_questions.xml")
-    Resource questionsFile;
+    private final ContentCatalog catalog;
 
     /**
-     * Constructor. Reads in a xml file from a specific source. Ready to be used to construct puzzles
+     * Constructor. Draws from the puzzles already loaded into the shared content catalog, so no file is read here.
      */
     public PuzzleMaker() {
-        try {
-            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ClassPathResource("puzzles/many_questions.xml").getURI().toString());
-            puzzles = document.getElementsByTagName("puzzle");
-        } catch (SAXException | IOException | ParserConfigurationException e) {
-            e.printStackTrace();
-        }
+        catalog = ContentCatalog.get();
     }
 
     /**
-     * Picks a random puzzle element and pulls its child tags. Returns a new Puzzle object using those tags
+     * Picks a random puzzle from the catalog. Puzzles are read-only, so every chest can share them.
      *
      * @return
      */
     public Puzzle getRandomPuzzle() {
-        Element node = (Element) puzzles.item(ThreadLocalRandom.current().nextInt(puzzles.getLength()));
-        String question = getContent(node, "question");
-        String difficulty = getContent(node, "difficulty");
-        String answer = getContent(node, "correct_answer");
-        NodeList temp = node.getElementsByTagName("element");
-        Set<String> wrong = new HashSet<>();
-        for (int i = 0; i < temp.getLength(); i++) {
-            wrong.add(temp.item(i).getTextContent());
-        }
-
-        return new Puzzle(question, difficulty, answer, wrong);
-    }
-
-    /**
-     * Helper method to get text content from a tag.
-     */
-    private String getContent(Element e, String tag) {
-        return e.getElementsByTagName(tag).item(0).getTextContent();
+        return catalog.puzzle(Dice.nextInt(catalog.puzzleCount()));
     }
 
 }
@@ -2,8 +2,11 @@ package com.palehorsestudios.ard.environment;
 
 import com.palehorsestudios.ard.characters.Monster;
 import com.palehorsestudios.ard.characters.MonsterFactory;
+import com.palehorsestudios.ard.combat.Difficulty;
 import com.palehorsestudios.ard.util.Codes;
-import com.palehorsestudios.ard.util.ConsoleManager;
+import com.palehorsestudios.ard.util.Dice;
+import com.palehorsestudios.ard.util.SnapshotReader;
+import com.palehorsestudios.ard.util.SnapshotWriter;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -12,13 +15,16 @@ public class Room {
     public static final List<String> ALL = Arrays.asList("all", "everything");
 
     private String description; // description of the room
-    private List<Item> items; // list of items in room
-    private List<Monster> monsters; // list of monsters in room
+    private final ItemPlacements items = new ItemPlacements(); // items in room and where each one lies
+    private final List<Monster> monsters = new ArrayList<>(); // list of monsters in room
+    private final List<Monster> monstersView = Collections.unmodifiableList(monsters); // what callers get to see
     private final int id; // room id (for ensuring hashcode is different)
-    private Random random = new Random(); // Generate random numbers
     private Chest chest; // a chest of reward items
-    private final int x = ConsoleManager.getRandomInteger(5,10);
-    private final int y = ConsoleManager.getRandomInteger(5,10);
+    private final int x;
+    private final int y;
+    private final OccupancyGrid grid; // what lies on each tile
+    private RoomView view; // cached client view, null when the room changed since it was built
+    private final Difficulty difficulty; // the game's difficulty, shared by every room on its map
 
 
     /**
@@ -28,14 +34,122 @@ public class Room {
      * @param id
      */
     public Room(String description, int id) {
-        this.description = description;
-        this.id = id;
-        items = new ArrayList<>();
-        monsters = new ArrayList<>();
+        this(description, id, new Difficulty());
+    }
+
+    /**
+     * Constructor for a room in a game with the given difficulty
+     *
+     * @param description
+     * @param id
+     * @param difficulty
+     */
+    public Room(String description, int id, Difficulty difficulty) {
+        this(description, id, Dice.nextInt(5, 10), Dice.nextInt(5, 10), difficulty);
         generateRandomRoomItems();
         generateRandomNormalMonsters();
     }
 
+    /**
+     * Constructor for a room whose contents were drawn ahead of time. Rooms with id 5 or lower get the blueprint's
+     * basic items, the same as generated rooms.
+     *
+     * @param blueprint pre-generated contents, not used for any other room
+     * @param id
+     * @param difficulty the game's difficulty
+     */
+    Room(RoomBlueprint blueprint, int id, Difficulty difficulty) {
+        this(blueprint.description, id, Dice.nextInt(5, 10), Dice.nextInt(5, 10),
+                difficulty);
+        for (Item item : id <= 5 ? blueprint.basicItems : blueprint.items) {
+            addItem(item);
+        }
+        if (blueprint.monster >= 0) {
+            addMonster(MonsterFactory.createMonster(blueprint.monster, difficulty));
+        }
+        if (blueprint.chest != null) {
+            setChest(blueprint.chest);
+        }
+    }
+
+    /**
+     * Constructor for an empty room of the given size.
+     *
+     * @param description
+     * @param id
+     * @param x width
+     * @param y height
+     * @param difficulty the game's difficulty
+     */
+    private Room(String description, int id, int x, int y, Difficulty difficulty) {
+        this.description = description;
+        this.id = id;
+        this.x = x;
+        this.y = y;
+        this.difficulty = difficulty;
+        grid = new OccupancyGrid(x, y);
+    }
+
+    /**
+     * Writes the room (size, items where they lie, monsters and chest) to a session snapshot. The id is left to the
+     * caller.
+     *
+     * @param out snapshot being written
+     */
+    void writeTo(SnapshotWriter out) {
+        out.writeString(description);
+        out.writeVarInt(x);
+        out.writeVarInt(y);
+        out.writeVarInt(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            out.writeVarInt(items.item(i).ordinal());
+            out.writeVarInt(items.x(i));
+            out.writeVarInt(items.y(i));
+        }
+        out.writeVarInt(monsters.size());
+        for (Monster monster : monsters) {
+            monster.writeTo(out);
+        }
+        out.writeBoolean(chest != null);
+        if (chest != null) {
+            chest.writeTo(out);
+        }
+    }
+
+    /**
+     * Reads back a room written by writeTo, with everything on the same tiles as before.
+     *
+     * @param in         snapshot being read
+     * @param id         the room's id
+     * @param difficulty the game's difficulty
+     * @return the room
+     * @throws IllegalArgumentException if the snapshot is malformed
+     */
+    static Room readFrom(SnapshotReader in, int id, Difficulty difficulty) throws IllegalArgumentException {
+        String description = in.readString();
+        int x = in.readVarInt(256);
+        int y = in.readVarInt(256);
+        Room room = new Room(description, id, x, y, difficulty);
+        Item[] all = Item.values();
+        for (int i = in.readVarInt(); i > 0; i--) {
+            Item item = all[in.readVarInt(all.length)];
+            int itemX = in.readVarInt(256);
+            int itemY = in.readVarInt(256);
+            room.grid.claim(itemX, itemY, OccupancyGrid.itemTile(item));
+            room.items.add(item, itemX, itemY);
+        }
+        for (int i = in.readVarInt(); i > 0; i--) {
+            Monster monster = Monster.readFrom(in);
+            room.grid.claim(monster.getX(), monster.getY(), OccupancyGrid.MONSTER_TILE);
+            room.monsters.add(monster);
+        }
+        if (in.readBoolean()) {
+            room.chest = Chest.readFrom(in);
+            room.grid.claim(room.chest.getX(), room.chest.getY(), OccupancyGrid.CHEST_TILE);
+        }
+        return room;
+    }
+
     public int getX() {
         return this.x;
     }
@@ -54,21 +168,71 @@ public class Room {
     }
 
     /**
-     * Return all items in room
+     * Return all items in room. The list is a copy; use addItem and grabItem to change the room.
      *
      * @return items
      */
     public List<Item> getItems() {
-        return items;
+        return items.items();
+    }
+
+    /**
+     * Returns what is on the given tile; see OccupancyGrid for reading the value. Tiles off the room read as a wall.
+     *
+     * @param x column
+     * @param y row
+     * @return tile value
+     */
+    public short tileAt(int x, int y) {
+        return grid.get(x, y);
     }
 
     /**
-     * Return all monsters in room
+     * Returns the monster standing on the given tile, or null if there is none.
+     *
+     * @param x column
+     * @param y row
+     * @return
+     */
+    public Monster monsterAt(int x, int y) {
+        if (OccupancyGrid.kindOf(grid.get(x, y)) == OccupancyGrid.MONSTER) {
+            for (Monster monster : monsters) {
+                if (monster.getX() == x && monster.getY() == y) {
+                    return monster;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks a random empty tile for a player entering the room. Players aren't kept on the grid, so an item dropped
+     * later may land on the player's tile.
+     *
+     * @return tile, packed as x &lt;&lt; 8 | y
+     */
+    public int freeTile() {
+        return grid.findFree(x - 1, y - 1);
+    }
+
+    /**
+     * Returns true if at least one of the given item lies in the room.
+     *
+     * @param item
+     * @return
+     */
+    public boolean hasItem(Item item) {
+        return items.indexOf(item) >= 0;
+    }
+
+    /**
+     * Return all monsters in room, as a read-only view. Use addMonster, removeMonster and clearMonsters to change
+     * them, so the cached RoomView is dropped.
      *
      * @return
      */
     public List<Monster> getMonsters() {
-        return monsters;
+        return monstersView;
     }
 
     /**
@@ -80,10 +244,41 @@ public class Room {
         return id;
     }
 
+    /**
+     * Returns the difficulty of the game this room belongs to.
+     *
+     * @return
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
     public Chest getChest() {
         return chest;
     }
 
+    /**
+     * Returns the client view of this room, building it only if the room changed since the last call.
+     *
+     * @return view of the room
+     */
+    public RoomView getView() {
+        RoomView result = view;
+        if (result == null) {
+            result = new RoomView(this);
+            view = result;
+        }
+        return result;
+    }
+
+    /**
+     * Drops the cached view. Room's own mutators call this; code that changes the room's contents some other way
+     * (e.g. damaging one of its monsters) must call it too.
+     */
+    public void roomChanged() {
+        view = null;
+    }
+
     /**
      * Adds item to room's item list
      *
@@ -91,8 +286,9 @@ public class Room {
      */
     public void addItem(Item item) {
         if (item != null) {
-            item.setCoord(this);
-            items.add(item);
+            int tile = grid.claimFree(x - 1, y - 1, OccupancyGrid.itemTile(item));
+            items.add(item, tile >>> 8, tile & 0xFF);
+            roomChanged();
         }
     }
 
@@ -103,14 +299,14 @@ public class Room {
         //Returns a random number.
         //between 0 (inclusive) and 3 (exclusive).
         if (this.id <= 5) {
-            int quantity = random.nextInt(3);
+            int quantity = Dice.nextInt(3);
             for (int i = 0; i < quantity; i++) {
-                addItem(Item.values()[random.nextInt(6)]);
+                addItem(Item.values()[Dice.nextInt(6)]);
             }
         } else if (this.id > 5) {
-            int quantity = random.nextInt(6);
+            int quantity = Dice.nextInt(6);
             for (int i = 0; i < quantity; i++) {
-                addItem(Item.values()[random.nextInt(12)]);
+                addItem(Item.values()[Dice.nextInt(12)]);
             }
         }
     }
@@ -122,16 +318,18 @@ public class Room {
      */
     public void addMonster(Monster monster) {
         if (monster != null) {
-            monster.setCoord(this);
+            int tile = grid.claimFree(x - 1, y - 1, OccupancyGrid.MONSTER_TILE);
+            monster.setCoord(tile >>> 8, tile & 0xFF);
             monsters.add(monster);
+            roomChanged();
         }
     }
 
     //randomly generate normal monsters with a probability of 80%
     public void generateRandomNormalMonsters() {
-        int number = random.nextInt(100);
+        int number = Dice.nextInt(100);
         if (number < 80) {
-            addMonster(MonsterFactory.createMonster());
+            addMonster(MonsterFactory.createMonster(difficulty));
         }
     }
 
@@ -142,7 +340,7 @@ public class Room {
      */
     public void addAllItems(List<Item> items) {
         if (items != null) {
-            this.items.addAll(items);
+            items.forEach(this::addItem);
         }
     }
 
@@ -153,7 +351,7 @@ public class Room {
      */
     public void addAllMonsters(List<Monster> monsters) {
         if (monsters != null) {
-            this.monsters.addAll(monsters);
+            monsters.forEach(this::addMonster);
         }
     }
 
@@ -165,7 +363,14 @@ public class Room {
      * @return
      */
     public boolean grabItem(Item item) {
-        return items.remove(item);
+        int index = items.indexOf(item);
+        if (index < 0) {
+            return false;
+        }
+        grid.clear(items.x(index), items.y(index), OccupancyGrid.itemTile(item));
+        items.remove(item);
+        roomChanged();
+        return true;
     }
 
     /**
@@ -176,7 +381,33 @@ public class Room {
      * @return
      */
     public boolean defeatMonster(Monster monster) {
-        return monsters.remove(monster);
+        return removeMonster(monster);
+    }
+
+    /**
+     * Removes the monster from the room, freeing its tile, if it is there.
+     *
+     * @param monster monster to remove
+     * @return true if it was in the room
+     */
+    public boolean removeMonster(Monster monster) {
+        boolean removed = monsters.remove(monster);
+        if (removed) {
+            grid.clear(monster.getX(), monster.getY(), OccupancyGrid.MONSTER_TILE);
+            roomChanged();
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every monster from the room, freeing their tiles.
+     */
+    public void clearMonsters() {
+        for (Monster monster : monsters) {
+            grid.clear(monster.getX(), monster.getY(), OccupancyGrid.MONSTER_TILE);
+        }
+        monsters.clear();
+        roomChanged();
     }
 
 
@@ -209,7 +440,9 @@ public class Room {
 
         roomInfoList.add(roomInfo);
 
-        getAllItems().forEach(item -> roomInfoList.add(item.getItemInfo()));
+        for (int i = 0; i < items.size(); i++) {
+            roomInfoList.add(items.item(i).getItemInfo(items.x(i), items.y(i)));
+        }
         getAllMonster().forEach(monster -> roomInfoList.add(monster.getMonsterInfo()));
         if (getChest() != null) {
             roomInfoList.add(getChest().getChestInfo());
@@ -268,7 +501,15 @@ public class Room {
      * @param chest
      */
     public void setChest(Chest chest) {
+        if (this.chest != null) {
+            grid.clear(this.chest.getX(), this.chest.getY(), OccupancyGrid.CHEST_TILE);
+        }
+        if (chest != null) {
+            int tile = grid.claimFree(x - 1, y - 1, OccupancyGrid.CHEST_TILE);
+            chest.setCoord(tile >>> 8, tile & 0xFF);
+        }
         this.chest = chest;
+        roomChanged();
     }
 
     /**
@@ -281,6 +522,7 @@ public class Room {
         StringBuilder vsb = new StringBuilder();
         if (chest != null) {
             vsb.append(chest.askQuestion());
+            roomChanged();
         } else {
             vsb.append("No ").append(Codes.Chest.withColor("chest")).append(" in this room.");
         }
@@ -305,11 +547,11 @@ public class Room {
     }
 
     public List<Monster> getAllMonster() {
-        return monsters;
+        return monstersView;
     }
 
     public List<Item> getAllItems() {
-        return items;
+        return getItems();
     }
 
     @Override
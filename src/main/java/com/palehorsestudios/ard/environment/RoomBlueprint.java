@@ -0,0 +1,51 @@
+package com.palehorsestudios.ard.environment;
+
+import com.palehorsestudios.ard.util.ContentCatalog;
+import com.palehorsestudios.ard.util.Dice;
+
+/**
+ * Everything random about a new room, drawn ahead of time: its description, the items it starts with, which monster
+ * (if any) lives there and its chest. Turning a blueprint into a {@link Room} only attaches these, so it is cheap
+ * enough to do while handling a move. Each blueprint is used for exactly one room.
+ */
+final class RoomBlueprint {
+    private static final int PERCENT_CHEST = 40;
+    private static final int PERCENT_MONSTER = 80;
+
+    final String description;
+    final Item[] basicItems; // used for the first rooms of a map, which only hold basic items
+    final Item[] items;      // used for every room after those
+    final int monster;       // catalog index of the room's monster, -1 for none
+    final Chest chest;       // null for no chest
+
+    private RoomBlueprint(String description, Item[] basicItems, Item[] items, int monster, Chest chest) {
+        this.description = description;
+        this.basicItems = basicItems;
+        this.items = items;
+        this.monster = monster;
+        this.chest = chest;
+    }
+
+    /**
+     * Draws a new blueprint from the shared content catalog.
+     *
+     * @param puzzles source of chest puzzles
+     * @return new blueprint
+     */
+    static RoomBlueprint generate(PuzzleMaker puzzles) {
+        ContentCatalog catalog = ContentCatalog.get();
+        return new RoomBlueprint(catalog.grammar().generate_Sentence(),
+                randomItems(Dice.nextInt(3), 6),
+                randomItems(Dice.nextInt(6), 12),
+                Dice.nextInt(100) < PERCENT_MONSTER ? Dice.nextInt(catalog.monsterCount()) : -1,
+                Dice.nextInt(100) < PERCENT_CHEST ? new Chest(puzzles.getRandomPuzzle()) : null);
+    }
+
+    private static Item[] randomItems(int quantity, int bound) {
+        Item[] result = new Item[quantity];
+        for (int i = 0; i < quantity; i++) {
+            result[i] = Item.values()[Dice.nextInt(bound)];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package com.palehorsestudios.ard.environment;
+
+import java.util.Arrays;
+
+/**
+ * Connections between rooms, keyed by room id. Ids are handed out densely from 0, and each room gets four slots (one
+ * per {@link Direction}, in ordinal order) in a single int array holding the neighbor's id or {@link #NONE}. Looking
+ * up a neighbor is one array read; nothing is hashed or boxed.
+ */
+final class RoomGraph {
+    static final int NONE = -1;
+    private static final int DIRECTIONS = Direction.values().length;
+
+    private int[] neighbors;
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param expectedRooms rooms to make room for up front, the table grows past this as needed
+     */
+    RoomGraph(int expectedRooms) {
+        neighbors = new int[Math.max(1, expectedRooms) * DIRECTIONS];
+        Arrays.fill(neighbors, NONE);
+    }
+
+    /**
+     * Adds an unconnected room.
+     *
+     * @return the new room's id
+     */
+    int addRoom() {
+        if ((size + 1) * DIRECTIONS > neighbors.length) {
+            int oldLength = neighbors.length;
+            neighbors = Arrays.copyOf(neighbors, oldLength * 2);
+            Arrays.fill(neighbors, oldLength, neighbors.length, NONE);
+        }
+        return size++;
+    }
+
+    /**
+     * Returns the id of the room in the given direction from room, or NONE if nothing is there yet.
+     *
+     * @param room      id of the room moving from
+     * @param direction which way to look
+     * @return neighbor's id or NONE
+     */
+    int neighbor(int room, Direction direction) {
+        return neighbors[room * DIRECTIONS + direction.ordinal()];
+    }
+
+    /**
+     * Connects room to neighbor in the given direction. Only this one direction is set.
+     *
+     * @param room      id of the room to connect from
+     * @param direction which slot to set
+     * @param neighbor  id of the room to connect to
+     */
+    void link(int room, Direction direction, int neighbor) {
+        neighbors[room * DIRECTIONS + direction.ordinal()] = neighbor;
+    }
+
+    /**
+     * Returns true if id belongs to a room in this graph.
+     *
+     * @param room id to check
+     * @return whether the room exists
+     */
+    boolean contains(int room) {
+        return room >= 0 && room < size;
+    }
+
+    /**
+     * Number of rooms in the graph.
+     *
+     * @return size
+     */
+    int size() {
+        return size;
+    }
+}
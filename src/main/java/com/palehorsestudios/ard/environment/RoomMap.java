@@ -1,27 +1,104 @@
 package com.palehorsestudios.ard.environment;
 
 import com.palehorsestudios.ard.characters.Player;
-import com.palehorsestudios.ard.util.Grammar;
+import com.palehorsestudios.ard.combat.Difficulty;
+import com.palehorsestudios.ard.util.SnapshotReader;
+import com.palehorsestudios.ard.util.SnapshotWriter;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class RoomMap {
-    private final Map<Room, Map<Direction, Room>> map; // underlying data structure
+    private static final int EXPECTED_ROOMS = 64;
+
+    private final RoomGraph graph; // connections between rooms, by room id
+    private final List<Room> rooms; // rooms indexed by id
     private final Room start; // starting room
-    private final Grammar grammar; // grammar object for generating room descriptions
-    private final PuzzleMaker puzzles;
+    private final RoomPool pool; // source of pre-generated room contents
+    private final Difficulty difficulty; // the game's difficulty, handed to every room
 
     /**
-     * Default Constructor
+     * Default Constructor, for a game at the standard difficulty
      */
     public RoomMap() {
-        map = new HashMap<>();
-        grammar = new Grammar();
-        puzzles = new PuzzleMaker();
+        this(new Difficulty());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param difficulty the game's difficulty
+     */
+    public RoomMap(Difficulty difficulty) {
+        this.difficulty = difficulty;
+        graph = new RoomGraph(EXPECTED_ROOMS);
+        rooms = new ArrayList<>(EXPECTED_ROOMS);
+        pool = RoomPool.shared();
         start = makeNewRoom();
-        map.put(start, new HashMap<>());
+    }
+
+    /**
+     * Constructor for a map restored from a snapshot.
+     *
+     * @param difficulty the game's difficulty
+     * @param graph      connections between the rooms
+     * @param rooms      rooms indexed by id, the first being the start
+     */
+    private RoomMap(Difficulty difficulty, RoomGraph graph, List<Room> rooms) {
+        this.difficulty = difficulty;
+        this.graph = graph;
+        this.rooms = rooms;
+        pool = RoomPool.shared();
+        start = rooms.get(0);
+    }
+
+    /**
+     * Writes every room and how they connect to a session snapshot. The difficulty is left to the caller.
+     *
+     * @param out snapshot being written
+     */
+    public void writeTo(SnapshotWriter out) {
+        out.writeVarInt(rooms.size());
+        for (Room room : rooms) {
+            room.writeTo(out);
+        }
+        for (Room room : rooms) {
+            for (Direction direction : Direction.values()) {
+                out.writeVarInt(graph.neighbor(room.getId(), direction) + 1); // NONE becomes 0
+            }
+        }
+    }
+
+    /**
+     * Reads back a map written by writeTo.
+     *
+     * @param in         snapshot being read
+     * @param difficulty the game's difficulty, handed to every room
+     * @return the map
+     * @throws IllegalArgumentException if the snapshot is malformed
+     */
+    public static RoomMap readFrom(SnapshotReader in, Difficulty difficulty) throws IllegalArgumentException {
+        int count = in.readVarInt();
+        if (count == 0) {
+            throw new IllegalArgumentException("map without rooms");
+        }
+        RoomGraph graph = new RoomGraph(Math.max(count, EXPECTED_ROOMS));
+        List<Room> rooms = new ArrayList<>(Math.max(count, EXPECTED_ROOMS));
+        for (int i = 0; i < count; i++) {
+            rooms.add(Room.readFrom(in, graph.addRoom(), difficulty));
+        }
+        for (int id = 0; id < count; id++) {
+            for (Direction direction : Direction.values()) {
+                int neighbor = in.readVarInt(count + 1) - 1;
+                if (neighbor != RoomGraph.NONE) {
+                    graph.link(id, direction, neighbor);
+                }
+            }
+        }
+        return new RoomMap(difficulty, graph, rooms);
     }
 
     /**
@@ -33,22 +110,48 @@ public class RoomMap {
         return start;
     }
 
+    /**
+     * Returns the room with the given id.
+     *
+     * @param id room id
+     * @return the room
+     * @throws IllegalArgumentException if no room on this map has the id
+     */
+    public Room getRoom(int id) throws IllegalArgumentException {
+        if (id < 0 || id >= rooms.size()) {
+            throw new IllegalArgumentException("no room " + id);
+        }
+        return rooms.get(id);
+    }
+
     /**
      * Get the size of the map, i.e. the number of rooms on the map at the given moment
      *
      * @return
      */
     public int size() {
-        return map.size();
+        return graph.size();
     }
 
     /**
-     * Returns the underlying data structure for Testing purposes
+     * Returns a copy of the map as room to neighbors, for Testing purposes. Built on every call; changing it does not
+     * change the map.
      *
      * @return
      */
     Map<Room, Map<Direction, Room>> getMap() {
-        return map;
+        Map<Room, Map<Direction, Room>> result = new HashMap<>();
+        for (Room room : rooms) {
+            Map<Direction, Room> options = new EnumMap<>(Direction.class);
+            for (Direction direction : Direction.values()) {
+                int neighbor = graph.neighbor(room.getId(), direction);
+                if (neighbor != RoomGraph.NONE) {
+                    options.put(direction, rooms.get(neighbor));
+                }
+            }
+            result.put(room, options);
+        }
+        return result;
     }
 
 //    public Set<Room> roomList(){
@@ -60,7 +163,8 @@ public class RoomMap {
      * Logic for moving around on the game map. Moves in the passed direction from given room, and returns the new room
      * location. If the room moving to has not yet been visited and is a player, creates one and updates the map
      * accordingly. New rooms are linked in the opposite direction. If a monster type, tries the direction and returns
-     * same room if that room was not yet created. If room passed is null, throws an IllegalArgumentException.
+     * same room if that room was not yet created. If room passed is null or not on this map, throws an
+     * IllegalArgumentException.
      *
      * @param currRoom  room moving from
      * @param direction which direction to go through
@@ -68,20 +172,21 @@ public class RoomMap {
      * @throws IllegalArgumentException thrown if given direction is not applicable, or if currRoom is null
      */
     private Room moveRoom(Room currRoom, Direction direction, String type) throws IllegalArgumentException {
-        if (currRoom != null) {
-            Map<Direction, Room> options = map.get(currRoom); // get submap for ease
+        if (currRoom != null && graph.contains(currRoom.getId()) && rooms.get(currRoom.getId()) == currRoom) {
+            int from = currRoom.getId();
+            int to = graph.neighbor(from, direction);
 
             switch (type) {
                 case "player": // player can go where no rooms are created
-                    if (!options.containsKey(direction)) { // room hasn't been created yet, make one now
+                    if (to == RoomGraph.NONE) { // room hasn't been created yet, make one now
                         Room temp = makeNewRoom();
-                        options.put(direction, temp);
-                        map.put(temp, new HashMap<>());
-                        map.get(temp).put(flipDirection(direction), currRoom);
+                        graph.link(from, direction, temp.getId());
+                        graph.link(temp.getId(), flipDirection(direction), from);
+                        return temp;
                     }
-                    return options.get(direction);
+                    return rooms.get(to);
                 case "monster": // monster can only move if room attempting to go has already been created
-                    return options.getOrDefault(direction, currRoom);
+                    return to == RoomGraph.NONE ? currRoom : rooms.get(to);
                 default:
                     return currRoom;
             }
@@ -136,16 +241,13 @@ public class RoomMap {
     }
 
     /**
-     * Makes a new room with ID the current size of room.
+     * Makes a new room with the next free ID, from a blueprint out of the room pool, and adds it to the map.
      *
      * @return
      */
     private Room makeNewRoom() {
-        Room result = new Room(grammar.generate_Sentence(), map.size());
-        int percentChest = 40;
-        if (ThreadLocalRandom.current().nextInt(100) < percentChest) {
-            result.setChest(new Chest(puzzles.getRandomPuzzle()));
-        }
+        Room result = new Room(pool.take(), graph.addRoom(), difficulty);
+        rooms.add(result);
         return result;
     }
 }
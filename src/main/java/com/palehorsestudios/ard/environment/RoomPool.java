@@ -0,0 +1,118 @@
+package com.palehorsestudios.ard.environment;
+
+import com.palehorsestudios.ard.util.Dice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded queue of ready {@link RoomBlueprint}s, kept full by background daemon threads, so that making a room on
+ * a player's first visit doesn't generate a sentence, items, a monster and a puzzle on the request path. If the pool
+ * runs dry the caller generates one itself, so a move never waits on the workers.
+ */
+public final class RoomPool {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final BlockingQueue<RoomBlueprint> ready;
+    private final PuzzleMaker puzzles = new PuzzleMaker();
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructor. Starts the given number of refill threads right away.
+     *
+     * @param capacity most blueprints to hold at once (at least 1)
+     * @param workers  number of refill threads, 0 to only ever generate on demand
+     */
+    RoomPool(int capacity, int workers) {
+        ready = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::refill, "room-pool-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+            this.workers.add(thread);
+        }
+    }
+
+    /**
+     * Returns the pool shared by every game on this node, starting it on first use.
+     *
+     * @return shared pool
+     */
+    public static RoomPool shared() {
+        return Holder.INSTANCE;
+    }
+
+    // class holder idiom, same as ContentCatalog: started once, on first call to shared()
+    private static final class Holder {
+        private static final RoomPool INSTANCE = new RoomPool(DEFAULT_CAPACITY, 1);
+    }
+
+    private void refill() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                ready.put(RoomBlueprint.generate(puzzles));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Takes a ready blueprint, or generates one on the calling thread if none is ready. Never blocks. In a seeded
+     * (replayable) game the blueprint is always generated on the calling thread, from the game's own rolls, and
+     * counts as neither a hit nor a miss.
+     *
+     * @return blueprint for a new room
+     */
+    RoomBlueprint take() {
+        if (Dice.isSeeded()) {
+            return RoomBlueprint.generate(puzzles);
+        }
+        RoomBlueprint result = ready.poll();
+        if (result != null) {
+            hits.incrementAndGet();
+            return result;
+        }
+        misses.incrementAndGet();
+        return RoomBlueprint.generate(puzzles);
+    }
+
+    /**
+     * Number of blueprints ready right now.
+     *
+     * @return ready count
+     */
+    public int available() {
+        return ready.size();
+    }
+
+    /**
+     * Number of rooms made from a pre-generated blueprint.
+     *
+     * @return hit count
+     */
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * Number of rooms that had to be generated on the request path because the pool was empty.
+     *
+     * @return miss count
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Stops the refill threads. Blueprints already in the pool can still be taken.
+     */
+    void shutdown() {
+        workers.forEach(Thread::interrupt);
+    }
+}
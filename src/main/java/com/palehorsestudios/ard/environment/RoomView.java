@@ -0,0 +1,95 @@
+package com.palehorsestudios.ard.environment;
+
+import com.palehorsestudios.ard.characters.Monster;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Flat, read-only snapshot of what the client shows about a room. A Room builds one on demand and keeps it until the
+ * room changes, so responses serialize a few strings and ints instead of walking the live Room, its monsters and
+ * its chest (puzzle answer included).
+ */
+public final class RoomView {
+    private final int id;
+    private final String description;
+    private final List<String> items;
+    private final List<MonsterView> monsters;
+    private final ChestView chest;
+
+    RoomView(Room room) {
+        this.id = room.getId();
+        this.description = room.getDescription();
+
+        List<String> itemNames = new ArrayList<>(room.getItems().size());
+        for (Item item : room.getItems()) {
+            itemNames.add(item.name());
+        }
+        this.items = Collections.unmodifiableList(itemNames);
+
+        List<MonsterView> monsterViews = new ArrayList<>(room.getMonsters().size());
+        for (Monster monster : room.getMonsters()) {
+            monsterViews.add(new MonsterView(monster.getName(), monster.getLife()));
+        }
+        this.monsters = Collections.unmodifiableList(monsterViews);
+
+        this.chest = room.getChest() == null ? null : new ChestView(room.getChest().isBroken());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<String> getItems() {
+        return items;
+    }
+
+    public List<MonsterView> getMonsters() {
+        return monsters;
+    }
+
+    public ChestView getChest() {
+        return chest;
+    }
+
+    /**
+     * Name and remaining life of a monster in the room.
+     */
+    public static final class MonsterView {
+        private final String name;
+        private final int life;
+
+        MonsterView(String name, int life) {
+            this.name = name;
+            this.life = life;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getLife() {
+            return life;
+        }
+    }
+
+    /**
+     * Whether the room's chest has already been opened.
+     */
+    public static final class ChestView {
+        private final boolean broken;
+
+        ChestView(boolean broken) {
+            this.broken = broken;
+        }
+
+        public boolean isBroken() {
+            return broken;
+        }
+    }
+}
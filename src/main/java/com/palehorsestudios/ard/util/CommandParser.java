@@ -0,0 +1,90 @@
+package com.palehorsestudios.ard.util;
+
+import com.palehorsestudios.ard.util.commands.Verb;
+
+/**
+ * Turns a line of player input into a ParsedCommand in one pass. Words are runs of letters, digits and underscores;
+ * everything else separates them. The first word is looked up in the synonym trie without being copied out, and only
+ * the option word is turned into a String. Failures come back as status codes rather than exceptions.
+ */
+public final class CommandParser {
+    private static final SynonymTrie VERBS = ContentCatalog.get().verbs();
+    private static final Verb[] VERB_BY_INDEX = new Verb[VERBS.verbCount()]; // trie verb index to Verb
+    private static final ParsedCommand[] MISSING_OPTION = new ParsedCommand[Verb.values().length];
+    private static final ParsedCommand EMPTY = new ParsedCommand(ParsedCommand.Status.EMPTY, null, null);
+    private static final ParsedCommand UNKNOWN_VERB = new ParsedCommand(ParsedCommand.Status.UNKNOWN_VERB, null, null);
+
+    static {
+        for (int i = 0; i < VERB_BY_INDEX.length; i++) {
+            VERB_BY_INDEX[i] = Verb.fromKeyword(VERBS.verb(i));
+        }
+        for (Verb verb : Verb.values()) {
+            MISSING_OPTION[verb.ordinal()] = new ParsedCommand(ParsedCommand.Status.MISSING_OPTION, verb, null);
+        }
+    }
+
+    private CommandParser() {
+    }
+
+    /**
+     * Parses the input. Only the first two words count; anything after them is ignored.
+     *
+     * @param input raw player input, e.g. "Walk  NORTH!"
+     * @return the parsed command, never null
+     */
+    public static ParsedCommand parse(CharSequence input) {
+        int length = input.length();
+        int verbStart = skipSeparators(input, 0);
+        if (verbStart == length) {
+            return EMPTY;
+        }
+        int verbEnd = skipWord(input, verbStart);
+        int index = VERBS.find(input, verbStart, verbEnd);
+        Verb verb = index < 0 ? null : VERB_BY_INDEX[index];
+        if (verb == null) {
+            return UNKNOWN_VERB;
+        }
+
+        int optionStart = skipSeparators(input, verbEnd);
+        if (optionStart == length) {
+            return MISSING_OPTION[verb.ordinal()];
+        }
+        String option = capitalize(input, optionStart, skipWord(input, optionStart));
+        ParsedCommand.Status status = verb.getCommand().isValid(option)
+                ? ParsedCommand.Status.OK
+                : ParsedCommand.Status.INVALID_OPTION;
+        return new ParsedCommand(status, verb, option);
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static int skipSeparators(CharSequence input, int from) {
+        int i = from;
+        while (i < input.length() && !isWordChar(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWord(CharSequence input, int from) {
+        int i = from;
+        while (i < input.length() && isWordChar(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Copies the word with its first letter upper case and the rest lower case, e.g. "gAS_MASK" to "Gas_mask".
+     */
+    private static String capitalize(CharSequence input, int start, int end) {
+        char[] word = new char[end - start];
+        word[0] = Character.toUpperCase(input.charAt(start));
+        for (int i = 1; i < word.length; i++) {
+            word[i] = Character.toLowerCase(input.charAt(start + i));
+        }
+        return new String(word);
+    }
+}
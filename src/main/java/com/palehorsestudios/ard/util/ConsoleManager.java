@@ -17,35 +17,24 @@ import java.io.IOException;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class ConsoleManager {
     private static final Scanner scanner = new Scanner(System.in);
-    private static MenuTrieNode menu = read_xml();
     private static Random random = new Random();
 
     public ConsoleManager() {
     }
 
     /**
-     * Method to read a random ASCII art game banner, and return it as a string. If error out reading file, returns
-     * "A. R. D." as the banner.
+     * Method to pick a random ASCII art game banner from the content catalog. If the banner file couldn't be read,
+     * the catalog holds "A. R. D." as the only banner.
      *
      * @return a ASCII art banner as a single string
      */
     private static String gameTitle() {
-        String result;
-        try {
-            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse("resources/title_art/banners.xml");
-            NodeList banners = document.getElementsByTagName("banner");
-            result = banners.item(ThreadLocalRandom.current().nextInt(banners.getLength())).getTextContent();
-        } catch (IOException | ParserConfigurationException | SAXException e) {
-            result = "A. R. D.\n\n";
-        }
-
-        return result;
+        ContentCatalog catalog = ContentCatalog.get();
+        return catalog.banner(ThreadLocalRandom.current().nextInt(catalog.bannerCount()));
     }
 
     public static String banner() {
@@ -89,66 +78,10 @@ public class ConsoleManager {
     }
 
     public static int getRandomInteger(int min, int max) {
-        int randomNumber = (int) Math.floor(Math.random() * (max - min) + min);
+        int randomNumber = max > min ? Dice.nextInt(min, max) : min;
         return randomNumber;
     }
 
-    /**
-     * Helper method to get input about traversing the help menu. Users can also choose to go back a level or to quit
-     * the help menu.
-     *
-     * @param options options to choose from for navigating
-     * @return which choice from options. Returns -1 if going back a level or -2 if quitting help menu
-     */
-    private static int getInput(List<List<String>> options) {
-        options.add(List.of("b", "back"));
-        options.add(List.of("q", "quit"));
-        boolean doLoop = true;
-        int choice = -1;
-        while (doLoop) {
-            options.forEach(System.out::println); // print out the options
-            String input = scanner.nextLine().strip(); // get the choice from console
-
-            // map each item in options to be boolean, true if input is inside sublist
-            choice = options.stream().map(e -> e.contains(input)).collect(Collectors.toList()).indexOf(true);
-
-            if (choice != -1) {
-                doLoop = false;
-            } else {
-                System.out.println("I didn't understand that option, please try again.");
-            }
-        }
-
-        return (choice == options.size() - 1 ? -1 : choice == options.size() - 2 ? -2 : choice); // -> -1 or -2 or some number in list
-    }
-
-    /**
-     * Method to navigate the help menu. Prints out the current level title, description, and asks for input to go to
-     * other levels for game information.
-     */
-    public static String gameExplanation() {
-        StringBuilder vsb = new StringBuilder();
-        boolean navigateMenu = true;
-        MenuTrieNode curr = menu;
-        while (navigateMenu) {
-            vsb.append("<").append(curr.getTitle()).append(">");
-            vsb.append("\n").append(curr.getDescription());
-            MenuTrieNode finalCurr = curr;
-            int choice = getInput(IntStream.range(0, curr.getChildren().size())
-                    .mapToObj(e -> List.of("" + e, finalCurr.getChild(e).getTitle()))
-                    .collect(Collectors.toList())); // -> {{"0", "Story details"}, {"1", "Game controls"}} etc.
-
-            if (choice == -1) {
-                navigateMenu = false;
-            } else if (choice == -2) {
-                curr = curr.getParent();
-            } else {
-                curr = curr.getChild(choice);
-            }
-        }
-        return vsb.toString();
-    }
-
     /**
      * method made package level access only on purpose
      * <p>
@@ -254,22 +187,14 @@ public class ConsoleManager {
      * @return Array of valid words
      */
     public static String[] scanInput(Map<String, Commands> commands, String str) {
-        String playerInput = str.strip().toLowerCase();
-        String[] words;
-        words = playerInput.split("\\W+");
-        words[0] = InputValidation.VERB_SYNONYMS(words[0]);
-
-            if (words.length == 2) {
-                if (commands.containsKey(words[0])) {
-                    try {
-                        words[1] = words[1].substring(0, 1).toUpperCase() + words[1].substring(1);
-                        commands.get(words[0]).do_command(words[1]);
-                    } catch (IllegalArgumentException e) {
-                        System.out.println("Not a valid action. Try again!");
-                    }
-                }
+        ParsedCommand command = CommandParser.parse(str);
+        if (command.getVerb() != null && command.getOption() != null) {
+            Commands validator = commands.get(command.getVerb().getKeyword());
+            if (validator != null && !validator.isValid(command.getOption())) {
+                System.out.println("Not a valid action. Try again!");
             }
-        return words;
+        }
+        return command.toArray();
     }
 
     /**
@@ -0,0 +1,186 @@
+package com.palehorsestudios.ard.util;
+
+import com.palehorsestudios.ard.environment.Puzzle;
+import org.springframework.core.io.ClassPathResource;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * All of the game's static content (monsters, puzzles, grammar, synonyms, help menu and banners), read from the
+ * classpath once and shared read-only by every game. Nothing in here changes after loading, so any number of
+ * sessions can use it at once without locking, and starting a new game does no I/O.
+ */
+public final class ContentCatalog {
+    private static final String[] FALLBACK_BANNERS = {"A. R. D.\n\n"};
+
+    private final String[] monsterNames;
+    private final String[] monsterDescriptions;
+    private final Puzzle[] puzzles;
+    private final Grammar grammar;
+    private final Map<String, List<String>> synonyms;
+    private final SynonymTrie verbs;
+    private final MenuTrieNode helpMenu;
+    private final String[] banners;
+
+    private ContentCatalog() {
+        List<String[]> monsters = readMonsters("monsters/normal_monsters.txt");
+        monsterNames = new String[monsters.size()];
+        monsterDescriptions = new String[monsters.size()];
+        for (int i = 0; i < monsters.size(); i++) {
+            monsterNames[i] = monsters.get(i)[0];
+            monsterDescriptions[i] = monsters.get(i)[1];
+        }
+        puzzles = readPuzzles("puzzles/many_questions.xml");
+        grammar = new Grammar();
+        synonyms = Collections.unmodifiableMap(ConsoleManager.read_xml("synonyms/synonyms.xml", "command"));
+        verbs = new SynonymTrie(synonyms);
+        helpMenu = ConsoleManager.read_xml();
+        banners = readBanners("title_art/banners.xml");
+    }
+
+    /**
+     * Returns the shared catalog, loading it on first use.
+     *
+     * @return the catalog
+     */
+    public static ContentCatalog get() {
+        return Holder.INSTANCE;
+    }
+
+    // class holder idiom: the JVM loads the catalog exactly once, on first call to get()
+    private static final class Holder {
+        private static final ContentCatalog INSTANCE = new ContentCatalog();
+    }
+
+    public int monsterCount() {
+        return monsterNames.length;
+    }
+
+    public String monsterName(int index) {
+        return monsterNames[index];
+    }
+
+    public String monsterDescription(int index) {
+        return monsterDescriptions[index];
+    }
+
+    public int puzzleCount() {
+        return puzzles.length;
+    }
+
+    public Puzzle puzzle(int index) {
+        return puzzles[index];
+    }
+
+    public Grammar grammar() {
+        return grammar;
+    }
+
+    public Map<String, List<String>> synonyms() {
+        return synonyms;
+    }
+
+    /**
+     * Synonyms compiled into a trie for looking up the verb behind a word.
+     *
+     * @return the verb trie
+     */
+    public SynonymTrie verbs() {
+        return verbs;
+    }
+
+    public MenuTrieNode helpMenu() {
+        return helpMenu;
+    }
+
+    public int bannerCount() {
+        return banners.length;
+    }
+
+    public String banner(int index) {
+        return banners[index];
+    }
+
+    /**
+     * Reads "name, description" lines from the monster file.
+     */
+    private static List<String[]> readMonsters(String fileName) {
+        List<String[]> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ClassPathResource(fileName).getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] str = line.split(",", 2);
+                if (str.length == 2) {
+                    result.add(new String[]{str[0], str[1].strip()});
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return result;
+    }
+
+    /**
+     * Parses every puzzle element in the questions file into a Puzzle.
+     */
+    private static Puzzle[] readPuzzles(String fileName) {
+        List<Puzzle> result = new ArrayList<>();
+        try {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                    .parse(new ClassPathResource(fileName).getURI().toString());
+            NodeList nodes = document.getElementsByTagName("puzzle");
+            for (int i = 0; i < nodes.getLength(); i++) {
+                Element node = (Element) nodes.item(i);
+                NodeList temp = node.getElementsByTagName("element");
+                Set<String> wrong = new HashSet<>();
+                for (int j = 0; j < temp.getLength(); j++) {
+                    wrong.add(temp.item(j).getTextContent());
+                }
+                result.add(new Puzzle(getContent(node, "question"), getContent(node, "difficulty"),
+                        getContent(node, "correct_answer"), Collections.unmodifiableSet(wrong)));
+            }
+        } catch (SAXException | IOException | ParserConfigurationException e) {
+            e.printStackTrace();
+        }
+        return result.toArray(new Puzzle[0]);
+    }
+
+    /**
+     * Reads every ASCII art banner. Falls back to plain "A. R. D." if the file can't be read.
+     */
+    private static String[] readBanners(String fileName) {
+        try {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                    .parse(new ClassPathResource(fileName).getURI().toString());
+            NodeList nodes = document.getElementsByTagName("banner");
+            String[] result = new String[nodes.getLength()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = nodes.item(i).getTextContent();
+            }
+            return result.length > 0 ? result : FALLBACK_BANNERS;
+        } catch (IOException | ParserConfigurationException | SAXException e) {
+            return FALLBACK_BANNERS;
+        }
+    }
+
+    /**
+     * Helper method to get text content from a tag.
+     */
+    private static String getContent(Element e, String tag) {
+        return e.getElementsByTagName(tag).item(0).getTextContent();
+    }
+}
@@ -0,0 +1,73 @@
+package com.palehorsestudios.ard.util;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * The one source of randomness for game logic. Normally it is ThreadLocalRandom, but code run through
+ * {@link #seeded(long, Supplier)} draws from a SplittableRandom with the given seed instead, so running the same
+ * action from the same state with the same seed gives the same result. That is what lets a CommandJournal be
+ * replayed.
+ */
+public final class Dice {
+    private static final ThreadLocal<SplittableRandom> SEEDED = new ThreadLocal<>();
+
+    private Dice() {
+    }
+
+    /**
+     * Random int from 0 (inclusive) to bound (exclusive).
+     *
+     * @param bound upper bound, must be positive
+     * @return random int
+     */
+    public static int nextInt(int bound) {
+        SplittableRandom seeded = SEEDED.get();
+        return seeded != null ? seeded.nextInt(bound) : ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    /**
+     * Random int from origin (inclusive) to bound (exclusive).
+     *
+     * @param origin lower bound
+     * @param bound  upper bound, must be greater than origin
+     * @return random int
+     */
+    public static int nextInt(int origin, int bound) {
+        SplittableRandom seeded = SEEDED.get();
+        return seeded != null ? seeded.nextInt(origin, bound) : ThreadLocalRandom.current().nextInt(origin, bound);
+    }
+
+    /**
+     * Runs the action with every roll on this thread drawn from the given seed. Calls nest; the outer seed's
+     * sequence carries on where it left off afterwards.
+     *
+     * @param seed   seed for the action's rolls
+     * @param action what to run
+     * @param <T>    result type
+     * @return the action's result
+     */
+    public static <T> T seeded(long seed, Supplier<T> action) {
+        SplittableRandom outer = SEEDED.get();
+        SEEDED.set(new SplittableRandom(seed));
+        try {
+            return action.get();
+        } finally {
+            if (outer == null) {
+                SEEDED.remove();
+            } else {
+                SEEDED.set(outer);
+            }
+        }
+    }
+
+    /**
+     * Returns true if this thread is running a seeded action, i.e. whatever it does must be reproducible.
+     *
+     * @return whether rolls are seeded
+     */
+    public static boolean isSeeded() {
+        return SEEDED.get() != null;
+    }
+}
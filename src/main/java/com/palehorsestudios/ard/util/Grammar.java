@@ -3,32 +3,45 @@ package com.palehorsestudios.ard.util;
 import org.springframework.core.io.ClassPathResource;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 public class Grammar {
+    private static final String START = "<sentence>";
 
-    private Map<String, List<String>> grammar;
+    // reusable per-thread scratch space, since one Grammar is shared by every game
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+    private static final ThreadLocal<int[][]> STACK = ThreadLocal.withInitial(() -> new int[][]{new int[64]});
+
+    /*
+     * Compiled form of the rules. Every symbol is an int: a non-terminal is its index (>= 0) and a terminal is
+     * ~index (< 0). Non-terminal n may expand to any of productions[firstProduction[n]] up to
+     * productions[firstProduction[n + 1] - 1], each an array of symbols.
+     */
+    private int[] firstProduction;
+    private int[][] productions;
+    private String[] terminals;
+    private boolean[] startsWithVowel; // per terminal
+    private int start = -1; // index of the <sentence> non-terminal, -1 if missing
 
     public Grammar() {
         // default constructor
-        grammar = new HashMap<>();
-        readRules();
+        compile(readRules());
     }
 
     /**
      * Read in a grammar from a file. All non-terminals (e.g. keys in grammar dictionary) are on the left side of "::=".
      * Every option for each non-terminal is separated by a "|".
      */
-    private void readRules() {
+    private Map<String, List<String>> readRules() {
+        Map<String, List<String>> grammar = new LinkedHashMap<>();
         try(BufferedReader reader = new BufferedReader(new InputStreamReader(new ClassPathResource("grammar/dungeon_grammar.txt").getInputStream()))) {
 
             String line;
@@ -38,13 +51,14 @@ public class Grammar {
                     String nonterm = rules[0].strip();
                     List<String> terms = Arrays.stream(rules[1].split("[|]"))
                             .map(String::strip).collect(Collectors.toList());
-                    addTo(nonterm, terms);
+                    addTo(grammar, nonterm, terms);
                 }
             }
 
         } catch (IOException e) {
             e.printStackTrace();
         }
+        return grammar;
     }
 
     /**
@@ -54,13 +68,63 @@ public class Grammar {
      * @param key
      * @param values
      */
-    private void addTo(String key, List<String> values) throws IllegalArgumentException {
+    private void addTo(Map<String, List<String>> grammar, String key, List<String> values) throws IllegalArgumentException {
         if (grammar.containsKey(key)) {
             throw new IllegalArgumentException("Redundant non-terminal! :: " + key);
         }
         grammar.put(key, values);
     }
 
+    /**
+     * Turns the rules into the int symbol tables. Each production is split on spaces once, here, instead of on every
+     * expansion.
+     *
+     * @param grammar non-terminal to list of productions
+     */
+    private void compile(Map<String, List<String>> grammar) {
+        Map<String, Integer> nonterminals = new HashMap<>();
+        for (String nonterm : grammar.keySet()) {
+            nonterminals.put(nonterm, nonterminals.size());
+        }
+        Map<String, Integer> terminalIds = new HashMap<>();
+        List<String> terminalList = new ArrayList<>();
+        List<int[]> productionList = new ArrayList<>();
+        firstProduction = new int[nonterminals.size() + 1];
+
+        int n = 0;
+        for (List<String> values : grammar.values()) {
+            firstProduction[n++] = productionList.size();
+            for (String value : values) {
+                String[] words = Arrays.stream(value.split(" ")).filter(e -> !e.isEmpty()).toArray(String[]::new);
+                int[] symbols = new int[words.length];
+                for (int i = 0; i < words.length; i++) {
+                    Integer nonterm = nonterminals.get(words[i]);
+                    if (nonterm != null) {
+                        symbols[i] = nonterm;
+                    } else {
+                        Integer terminal = terminalIds.get(words[i]);
+                        if (terminal == null) {
+                            terminal = terminalList.size();
+                            terminalIds.put(words[i], terminal);
+                            terminalList.add(words[i]);
+                        }
+                        symbols[i] = ~terminal;
+                    }
+                }
+                productionList.add(symbols);
+            }
+        }
+        firstProduction[n] = productionList.size();
+
+        productions = productionList.toArray(new int[0][]);
+        terminals = terminalList.toArray(new String[0]);
+        startsWithVowel = new boolean[terminals.length];
+        for (int i = 0; i < terminals.length; i++) {
+            startsWithVowel[i] = isVowel(terminals[i].charAt(0));
+        }
+        start = nonterminals.getOrDefault(START, -1);
+    }
+
     /**
      * Generate a random sentence from the built grammar and return as a String. Throws an IllegalArgumentException if
      * grammar built does not have a "<sentence>" non-terminal.
@@ -69,51 +133,103 @@ public class Grammar {
      * @throws IllegalArgumentException
      */
     public String generate_Sentence() throws IllegalArgumentException {
-        if (!grammar.containsKey("<sentence>")) {
+        if (start < 0) {
             throw new IllegalArgumentException("Grammar is missing sentence non-terminal!");
         }
-        return capitalize(fixGrammar(generate("<sentence>"))) + ".";
+        StringBuilder sentence = BUILDER.get();
+        sentence.setLength(0);
+        generate(start, sentence);
+        capitalize(sentence);
+        return sentence.append('.').toString();
     }
 
     /**
-     * Capitalize the first character in the given string
+     * Capitalize the first character in the given builder
      *
      * @param s
-     * @return
      */
-    private String capitalize(String s) {
-        return s.substring(0, 1).toUpperCase() + s.substring(1);
+    private void capitalize(StringBuilder s) {
+        if (s.length() > 0) {
+            s.setCharAt(0, Character.toUpperCase(s.charAt(0)));
+        }
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
     }
 
     /**
-     * Removes white spaces before commas and replaces "a" with "an" when next character is a vowel.
+     * Removes white spaces before commas and replaces "a" with "an" when the next word starts with a vowel. Sentences
+     * from generate_Sentence already have these fixes applied as they are built; this applies them to any text.
      *
      * @param sentence
      * @return
      */
     String fixGrammar(String sentence) {
-        return sentence.replaceAll(" ,", ",")
-                .replaceAll("a ([a,e,i,o,u])", "an $1");
+        StringBuilder result = new StringBuilder(sentence.length() + 8);
+        boolean afterArticle = false;
+        for (String word : sentence.split(" ")) {
+            afterArticle = appendWord(result, word, !word.isEmpty() && isVowel(word.charAt(0)), afterArticle);
+        }
+        return result.toString();
     }
 
     /**
-     * recursively choose a random value for each non-terminal, returning string that is made by joining each terminal
-     * string with white spaces between them.
+     * Appends one word to the sentence, applying the grammar fixes inline: a "," or a word starting with "," attaches
+     * to the previous word, and a preceding lone "a" becomes "an" before a vowel.
      *
-     * @param symbol
-     * @return
+     * @return true if the word just appended was the article "a"
      */
-    private String generate(String symbol) {
-        List<String> values = grammar.get(symbol);
-        String value = values.get(ThreadLocalRandom.current().nextInt(values.size()));
-        return Arrays.stream(value.split(" "))
-                .map(e -> {
-                    if (grammar.containsKey(e)) {
-                        return generate(e);
-                    } else {
-                        return e;
-                    }
-                })
-                .collect(Collectors.joining(" "));
+    private static boolean appendWord(StringBuilder sentence, String word, boolean vowel, boolean afterArticle) {
+        if (word.isEmpty()) {
+            return afterArticle;
+        }
+        if (word.charAt(0) == ',') {
+            sentence.append(word);
+            return false;
+        }
+        if (afterArticle && vowel) {
+            sentence.append('n');
+        }
+        if (sentence.length() > 0) {
+            sentence.append(' ');
+        }
+        sentence.append(word);
+        return word.equals("a");
+    }
+
+    /**
+     * Expand the symbol into the builder, choosing a random production for each non-terminal. Uses an explicit
+     * stack of pending symbols rather than recursion, and writes terminals straight into the builder with the
+     * grammar fixes applied as they go.
+     *
+     * @param symbol  non-terminal to expand
+     * @param sentence builder to write into
+     */
+    private void generate(int symbol, StringBuilder sentence) {
+        int[][] holder = STACK.get();
+        int[] stack = holder[0];
+        int top = 0;
+        stack[top++] = symbol;
+        boolean afterArticle = false;
+
+        while (top > 0) {
+            int current = stack[--top];
+            if (current < 0) {
+                int terminal = ~current;
+                afterArticle = appendWord(sentence, terminals[terminal], startsWithVowel[terminal], afterArticle);
+            } else {
+                int first = firstProduction[current];
+                int[] production = productions[first + Dice.nextInt(firstProduction[current + 1] - first)];
+                if (top + production.length > stack.length) {
+                    stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + production.length));
+                    holder[0] = stack;
+                }
+                // push right to left so the leftmost symbol is expanded first
+                for (int i = production.length - 1; i >= 0; i--) {
+                    stack[top++] = production[i];
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,198 @@
+package com.palehorsestudios.ard.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The help menu tree, numbered and rendered once. Nodes get ids in depth-first order, the root being 0, and every
+ * form the game hands out (the whole tree as JSON, each node as JSON, the whole tree as text for the help command)
+ * is built in the constructor. Serving help is then an array read; nothing waits on input and nothing is rendered per
+ * request. All renderings share one strong ETag, a hash of the JSON document, since they only change together.
+ */
+public final class HelpMenu {
+    private final List<MenuTrieNode> nodes = new ArrayList<>(); // by id
+    private final Map<MenuTrieNode, Integer> ids = new IdentityHashMap<>();
+    private final List<Integer> parents = new ArrayList<>(); // by id, -1 for the root
+    private final byte[] document;
+    private final byte[][] nodeDocuments;
+    private final String etag;
+    private final String text;
+
+    /**
+     * Constructor
+     *
+     * @param root top of the menu tree
+     */
+    HelpMenu(MenuTrieNode root) {
+        number(root, -1);
+        ObjectMapper mapper = new ObjectMapper();
+        List<Map<String, Object>> all = new ArrayList<>(nodes.size());
+        nodeDocuments = new byte[nodes.size()][];
+        try {
+            for (int id = 0; id < nodes.size(); id++) {
+                all.add(flat(id));
+                nodeDocuments[id] = mapper.writeValueAsBytes(expanded(id));
+            }
+            document = mapper.writeValueAsBytes(Map.of("nodes", all));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("help menu can't be written as JSON", e);
+        }
+        etag = "\"" + hash(document) + "\"";
+        StringBuilder builder = new StringBuilder();
+        render(root, 0, builder);
+        text = builder.toString();
+    }
+
+    /**
+     * Returns the menu built from the content catalog's help tree, building it on first use.
+     *
+     * @return the shared menu
+     */
+    public static HelpMenu get() {
+        return Holder.INSTANCE;
+    }
+
+    // class holder idiom, same as ContentCatalog: built once, on first call to get()
+    private static final class Holder {
+        private static final HelpMenu INSTANCE = new HelpMenu(ContentCatalog.get().helpMenu());
+    }
+
+    private void number(MenuTrieNode node, int parent) {
+        int id = nodes.size();
+        ids.put(node, id);
+        nodes.add(node);
+        parents.add(parent);
+        node.getChildren().forEach(child -> number(child, id));
+    }
+
+    // {id, title, description, parent, children: [ids]}, parent left out for the root
+    private Map<String, Object> flat(int id) {
+        MenuTrieNode node = nodes.get(id);
+        Map<String, Object> result = head(id);
+        result.put("description", node.getDescription());
+        if (parents.get(id) >= 0) {
+            result.put("parent", parents.get(id));
+        }
+        List<Integer> children = new ArrayList<>();
+        node.getChildren().forEach(child -> children.add(ids.get(child)));
+        result.put("children", children);
+        return result;
+    }
+
+    // as flat, but with each child's title alongside its id, so one node is enough to draw a menu page
+    private Map<String, Object> expanded(int id) {
+        Map<String, Object> result = flat(id);
+        List<Map<String, Object>> children = new ArrayList<>();
+        nodes.get(id).getChildren().forEach(child -> children.add(head(ids.get(child))));
+        result.put("children", children);
+        return result;
+    }
+
+    private Map<String, Object> head(int id) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", id);
+        result.put("title", nodes.get(id).getTitle());
+        return result;
+    }
+
+    private static void render(MenuTrieNode node, int depth, StringBuilder builder) {
+        if (depth == 0) {
+            builder.append("<").append(node.getTitle()).append(">\n").append(node.getDescription());
+        } else {
+            builder.append("\n").append("  ".repeat(depth - 1)).append("- ").append(node.getTitle()).append(": ")
+                    .append(node.getDescription());
+        }
+        node.getChildren().forEach(child -> render(child, depth + 1, builder));
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JVM has SHA-256
+        }
+    }
+
+    /**
+     * The whole tree as UTF-8 JSON: {"nodes": [{id, title, description, parent, children: [ids]}, ...]}, indexed by
+     * id. Shared; don't modify.
+     *
+     * @return the document
+     */
+    public byte[] document() {
+        return document;
+    }
+
+    /**
+     * One node as UTF-8 JSON, with its children's ids and titles. Shared; don't modify.
+     *
+     * @param id node id
+     * @return the node's document
+     * @throws IllegalArgumentException if there is no node with the id
+     */
+    public byte[] node(int id) throws IllegalArgumentException {
+        if (id < 0 || id >= nodes.size()) {
+            throw new IllegalArgumentException("no help topic " + id);
+        }
+        return nodeDocuments[id];
+    }
+
+    /**
+     * Strong ETag, quotes included, for every rendering of this menu.
+     *
+     * @return the ETag
+     */
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * Whether an If-None-Match header names this menu's ETag, so the client's copy is current.
+     *
+     * @param ifNoneMatch header value, may be null
+     * @return true if a 304 will do
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The whole tree as indented text, for the in-game help command.
+     *
+     * @return the text
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Number of topics, the root included.
+     *
+     * @return node count
+     */
+    public int size() {
+        return nodes.size();
+    }
+}
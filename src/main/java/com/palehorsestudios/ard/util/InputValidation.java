@@ -21,15 +21,12 @@ public class InputValidation {
     return character.toString();
   }
 
+  /**
+   * Returns the verb the given word stands for (e.g. "walk" gives "move"), or an empty string if it is not a known
+   * verb or synonym.
+   */
   public static String VERB_SYNONYMS(String userInput) throws IllegalArgumentException {
-    Map<String, List<String>> synonyms = new HashMap<>();
-    synonyms = ConsoleManager.read_xml("synonyms/synonyms.xml", "command");
-    StringBuilder synonym = new StringBuilder();
-    for (Map.Entry<String, List<String>> verb : synonyms.entrySet()) {
-      if(verb.getValue().contains(userInput)) {
-        synonym.append(verb.getKey());
-      }
-    }
-    return synonym.toString();
+    String verb = ContentCatalog.get().verbs().lookup(userInput);
+    return verb == null ? "" : verb;
   }
 }
@@ -0,0 +1,84 @@
+package com.palehorsestudios.ard.util;
+
+import com.palehorsestudios.ard.util.commands.Verb;
+
+/**
+ * Result of parsing one line of player input: a status code, the verb (if one was recognised) and the option that
+ * followed it, capitalized the way the game expects ("North", "Gas_mask").
+ */
+public final class ParsedCommand {
+
+    /**
+     * Outcome of parsing. Only OK commands should be carried out.
+     */
+    public enum Status {
+        OK,             // known verb with a valid option
+        EMPTY,          // nothing but whitespace or punctuation
+        UNKNOWN_VERB,   // first word is not a verb or synonym
+        MISSING_OPTION, // verb with nothing after it
+        INVALID_OPTION  // verb whose validator rejected the option
+    }
+
+    private final Status status;
+    private final Verb verb;
+    private final String option;
+
+    ParsedCommand(Status status, Verb verb, String option) {
+        this.status = status;
+        this.verb = verb;
+        this.option = option;
+    }
+
+    /**
+     * Rebuilds a command that was parsed earlier, e.g. one read back from a journal.
+     *
+     * @param status outcome of the original parse
+     * @param verb   recognised verb, or null
+     * @param option capitalized option, or null
+     * @return the command
+     */
+    public static ParsedCommand of(Status status, Verb verb, String option) {
+        return new ParsedCommand(status, verb, option);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isValid() {
+        return status == Status.OK;
+    }
+
+    /**
+     * The recognised verb, or null when the status is EMPTY or UNKNOWN_VERB.
+     *
+     * @return the verb
+     */
+    public Verb getVerb() {
+        return verb;
+    }
+
+    /**
+     * The word after the verb, or null if there was none.
+     *
+     * @return the capitalized option
+     */
+    public String getOption() {
+        return option;
+    }
+
+    /**
+     * Returns the command as the old {verb, option} word array, with an empty verb when it was not recognised.
+     *
+     * @return array of words
+     */
+    public String[] toArray() {
+        String keyword = verb == null ? "" : verb.getKeyword();
+        return option == null ? new String[]{keyword} : new String[]{keyword, option};
+    }
+
+    @Override
+    public String toString() {
+        return status + " " + (verb == null ? "" : verb.getKeyword()) + (option == null ? "" : " " + option);
+    }
+}
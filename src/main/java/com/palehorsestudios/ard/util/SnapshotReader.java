@@ -0,0 +1,156 @@
+package com.palehorsestudios.ard.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads back what a {@link SnapshotWriter} wrote. Malformed or truncated input throws IllegalArgumentException rather
+ * than returning garbage.
+ */
+public final class SnapshotReader {
+    private final byte[] bytes;
+    private int position;
+    private final int limit;
+    private final List<String> strings = new ArrayList<>(); // strings read so far, for back-references
+
+    /**
+     * Constructor
+     *
+     * @param bytes snapshot to read, not copied
+     */
+    public SnapshotReader(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Constructor for reading part of an array.
+     *
+     * @param bytes  array holding the snapshot, not copied
+     * @param offset where the snapshot starts
+     * @param length snapshot length in bytes
+     */
+    public SnapshotReader(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Reads a varint written by writeVarInt.
+     *
+     * @return value
+     * @throws IllegalArgumentException if the input is truncated or the varint is too long
+     */
+    public int readVarInt() throws IllegalArgumentException {
+        int result = readRawVarInt();
+        if (result < 0) {
+            throw new IllegalArgumentException("varint out of range");
+        }
+        return result;
+    }
+
+    /**
+     * Reads an int written by writeSignedVarInt.
+     *
+     * @return value
+     * @throws IllegalArgumentException if the input is truncated or the varint is too long
+     */
+    public int readSignedVarInt() throws IllegalArgumentException {
+        int zigzag = readRawVarInt();
+        return zigzag >>> 1 ^ -(zigzag & 1);
+    }
+
+    /**
+     * Reads a varint and checks it is below the given bound, e.g. an enum ordinal or a collection size.
+     *
+     * @param bound exclusive upper bound
+     * @return value
+     * @throws IllegalArgumentException if the value is out of range
+     */
+    public int readVarInt(int bound) throws IllegalArgumentException {
+        int value = readVarInt();
+        if (value >= bound) {
+            throw new IllegalArgumentException("value " + value + " not below " + bound);
+        }
+        return value;
+    }
+
+    /**
+     * Reads a boolean.
+     *
+     * @return value
+     * @throws IllegalArgumentException if the input is truncated
+     */
+    public boolean readBoolean() throws IllegalArgumentException {
+        return next() != 0;
+    }
+
+    /**
+     * Reads the given number of raw bytes.
+     *
+     * @param length bytes to read
+     * @return the bytes
+     * @throws IllegalArgumentException if the input is truncated
+     */
+    public byte[] readBytes(int length) throws IllegalArgumentException {
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("truncated snapshot");
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(bytes, position, result, 0, length);
+        position += length;
+        return result;
+    }
+
+    /**
+     * Reads a string written by writeString.
+     *
+     * @return string, or null
+     * @throws IllegalArgumentException if the input is truncated or refers to a string not read yet
+     */
+    public String readString() throws IllegalArgumentException {
+        int header = readVarInt();
+        if (header == 0) {
+            return null;
+        }
+        if ((header & 1) == 1) {
+            int index = header >>> 1;
+            if (index >= strings.size()) {
+                throw new IllegalArgumentException("bad string reference " + index);
+            }
+            return strings.get(index);
+        }
+        String value = new String(readBytes((header >>> 1) - 1), StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+
+    /**
+     * Returns true if everything has been read.
+     *
+     * @return whether the input is used up
+     */
+    public boolean atEnd() {
+        return position == limit;
+    }
+
+    private int readRawVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = next();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("varint too long");
+    }
+
+    private byte next() {
+        if (position >= limit) {
+            throw new IllegalArgumentException("truncated snapshot");
+        }
+        return bytes[position++];
+    }
+}
@@ -0,0 +1,117 @@
+package com.palehorsestudios.ard.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Growable byte buffer for writing game snapshots. Numbers are written as unsigned LEB128 varints (ints that are small
+ * in practice take one byte), and each distinct string is written once: a repeat is written as a back-reference to
+ * the first occurrence. Read back with {@link SnapshotReader}, in the same order.
+ */
+public final class SnapshotWriter {
+    private byte[] bytes = new byte[256];
+    private int size;
+    private final Map<String, Integer> strings = new HashMap<>(); // string to its index, in order first written
+
+    /**
+     * Writes a non-negative int.
+     *
+     * @param value value, at least 0
+     * @throws IllegalArgumentException if value is negative
+     */
+    public void writeVarInt(int value) throws IllegalArgumentException {
+        if (value < 0) {
+            throw new IllegalArgumentException("negative varint: " + value);
+        }
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            bytes[size++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    /**
+     * Writes an int that may be negative, zig-zag encoded so small magnitudes either side of 0 stay short.
+     *
+     * @param value value
+     */
+    public void writeSignedVarInt(int value) {
+        int zigzag = value << 1 ^ value >> 31;
+        ensure(5);
+        while ((zigzag & ~0x7F) != 0) {
+            bytes[size++] = (byte) (zigzag & 0x7F | 0x80);
+            zigzag >>>= 7;
+        }
+        bytes[size++] = (byte) zigzag;
+    }
+
+    /**
+     * Writes a boolean as one byte.
+     *
+     * @param value value
+     */
+    public void writeBoolean(boolean value) {
+        ensure(1);
+        bytes[size++] = (byte) (value ? 1 : 0);
+    }
+
+    /**
+     * Writes raw bytes with no length; the reader must know how many to expect.
+     *
+     * @param value bytes
+     */
+    public void writeBytes(byte[] value) {
+        ensure(value.length);
+        System.arraycopy(value, 0, bytes, size, value.length);
+        size += value.length;
+    }
+
+    /**
+     * Writes a string, possibly null. New strings are written as (length + 1) &lt;&lt; 1 then their UTF-8 bytes, a
+     * repeat as index &lt;&lt; 1 | 1, and null as 0.
+     *
+     * @param value string or null
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarInt(index << 1 | 1);
+            return;
+        }
+        strings.put(value, strings.size());
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(utf8.length + 1 << 1);
+        writeBytes(utf8);
+    }
+
+    /**
+     * Number of bytes written so far.
+     *
+     * @return size in bytes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of what was written.
+     *
+     * @return the snapshot bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
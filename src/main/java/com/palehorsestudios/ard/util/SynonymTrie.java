@@ -0,0 +1,172 @@
+package com.palehorsestudios.ard.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Read-only character trie mapping every synonym (and each verb itself) to its verb, e.g. "walk" to "move". It is
+ * compiled once from the synonyms file into flat arrays: each node owns a sorted run of edge characters, so a lookup
+ * is one binary search per input character with no hashing and no allocation. Matching ignores case, and input can
+ * be any slice of a CharSequence, so the parser never has to cut a word out into its own String first.
+ */
+public final class SynonymTrie {
+    private static final int NONE = -1;
+
+    private final int[] edgeStart;  // node i's edges are edgeStart[i] until edgeStart[i + 1]
+    private final char[] edgeChar;  // sorted within each node
+    private final int[] edgeTarget; // node reached by following the edge
+    private final int[] verbIndex;  // index into verbs for a node that ends a synonym, NONE otherwise
+    private final String[] verbs;
+
+    /**
+     * Compiles the trie from a map of verb to synonyms. Blank synonyms are skipped, and a verb always maps to itself.
+     *
+     * @param synonyms verb to list of synonyms, as read from the synonyms file
+     */
+    public SynonymTrie(Map<String, List<String>> synonyms) {
+        verbs = synonyms.keySet().toArray(new String[0]);
+        Arrays.sort(verbs);
+
+        // build with tree maps first, then flatten breadth first into the arrays
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        children.add(new TreeMap<>());
+        terminal.add(NONE);
+        for (int v = 0; v < verbs.length; v++) {
+            insert(children, terminal, verbs[v], v);
+            for (String synonym : synonyms.get(verbs[v])) {
+                insert(children, terminal, synonym, v);
+            }
+        }
+
+        int nodes = children.size();
+        int edges = nodes - 1;
+        edgeStart = new int[nodes + 1];
+        edgeChar = new char[edges];
+        edgeTarget = new int[edges];
+        verbIndex = new int[nodes];
+
+        int[] renumber = new int[nodes];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        int next = 1;
+        int edge = 0;
+        int position = 0;
+        while (!queue.isEmpty()) {
+            int old = queue.poll();
+            edgeStart[position] = edge;
+            verbIndex[position] = terminal.get(old);
+            for (Map.Entry<Character, Integer> child : children.get(old).entrySet()) {
+                renumber[child.getValue()] = next++;
+                edgeChar[edge] = child.getKey();
+                edgeTarget[edge] = renumber[child.getValue()];
+                edge++;
+                queue.add(child.getValue());
+            }
+            position++;
+        }
+        edgeStart[nodes] = edge;
+    }
+
+    private static void insert(List<TreeMap<Character, Integer>> children, List<Integer> terminal, String word, int verb) {
+        String key = word.strip().toLowerCase();
+        if (key.isEmpty()) {
+            return;
+        }
+        int node = 0;
+        for (int i = 0; i < key.length(); i++) {
+            Integer child = children.get(node).get(key.charAt(i));
+            if (child == null) {
+                child = children.size();
+                children.add(new TreeMap<>());
+                terminal.add(NONE);
+                children.get(node).put(key.charAt(i), child);
+            }
+            node = child;
+        }
+        if (terminal.get(node) == NONE) {
+            terminal.set(node, verb);
+        }
+    }
+
+    /**
+     * Looks up the verb for a whole word.
+     *
+     * @param word word the player typed
+     * @return the verb it stands for, or null if it isn't a known verb or synonym
+     */
+    public String lookup(CharSequence word) {
+        return lookup(word, 0, word.length());
+    }
+
+    /**
+     * Looks up the verb for the characters of text from start (inclusive) to end (exclusive).
+     *
+     * @param text  text holding the word
+     * @param start index of the word's first character
+     * @param end   index just past the word's last character
+     * @return the verb it stands for, or null if it isn't a known verb or synonym
+     */
+    public String lookup(CharSequence text, int start, int end) {
+        int index = find(text, start, end);
+        return index == NONE ? null : verbs[index];
+    }
+
+    /**
+     * Like lookup, but returns the verb's index (see verb(int)) instead of the verb, or -1 if there is no match.
+     * Callers can use the index to keep their own array of per-verb data.
+     *
+     * @param text  text holding the word
+     * @param start index of the word's first character
+     * @param end   index just past the word's last character
+     * @return index of the verb, or -1
+     */
+    public int find(CharSequence text, int start, int end) {
+        int node = 0;
+        for (int i = start; i < end && node != NONE; i++) {
+            node = child(node, Character.toLowerCase(text.charAt(i)));
+        }
+        return node == NONE ? NONE : verbIndex[node];
+    }
+
+    /**
+     * Number of distinct verbs in the trie.
+     *
+     * @return verb count
+     */
+    public int verbCount() {
+        return verbs.length;
+    }
+
+    /**
+     * Returns the verb at the given index.
+     *
+     * @param index from 0 until verbCount()
+     * @return the verb
+     */
+    public String verb(int index) {
+        return verbs[index];
+    }
+
+    private int child(int node, char c) {
+        int low = edgeStart[node];
+        int high = edgeStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char found = edgeChar[mid];
+            if (found < c) {
+                low = mid + 1;
+            } else if (found > c) {
+                high = mid - 1;
+            } else {
+                return edgeTarget[mid];
+            }
+        }
+        return NONE;
+    }
+}
@@ -1,14 +1,34 @@
 package com.palehorsestudios.ard.util.commands;
 
+import com.palehorsestudios.ard.environment.Item;
+
 /**
  * Commands interface specify behavior that classes must implement.
  */
 public interface Commands {
 
     /**
-     * do_command method verifies if option is valid. Throws IllegalArgumentException if option is not valid
+     * isValid method verifies if option is valid for this command.
+     *
+     * @param option is the user input to check against, already capitalized (e.g. "North")
+     * @return true if the command can act on the option
+     */
+    boolean isValid(String option);
+
+    /**
+     * Message to show the player when the option is not valid, e.g. "Move where?"
+     *
+     * @return the message
+     */
+    String invalidMessage();
+
+    /**
+     * Helper for commands that take an item: true if option is the name of an Item.
      *
-     * @param option is the user input to check against
+     * @param option capitalized user input
+     * @return true if an Item has that name
      */
-    void do_command(String option) throws IllegalArgumentException;
+    static boolean isItem(String option) {
+        return Item.fromName(option) != null;
+    }
 }
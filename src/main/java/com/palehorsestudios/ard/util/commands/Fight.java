@@ -1,12 +1,16 @@
 package com.palehorsestudios.ard.util.commands;
 
 /**
- * Fight Class implements Commands interface and throws exception if invalid option
+ * Fight Class implements Commands interface and rejects anything but a monster
  */
 public class Fight implements Commands {
     @Override
-    public void do_command(String option) throws IllegalArgumentException {
-        if (!option.equals("Monster"))
-            throw new IllegalArgumentException("Fight who?");
+    public boolean isValid(String option) {
+        return "Monster".equals(option);
+    }
+
+    @Override
+    public String invalidMessage() {
+        return "Fight who?";
     }
 }
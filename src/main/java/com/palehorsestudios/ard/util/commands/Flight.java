@@ -1,12 +1,16 @@
 package com.palehorsestudios.ard.util.commands;
 
 /**
- * Flight Class implements Commands and throws exception if option is not specified
+ * Flight Class implements Commands and rejects a missing option
  */
 public class Flight implements Commands {
     @Override
-    public void do_command(String option) throws IllegalArgumentException {
-        if (option == null)
-            throw new IllegalArgumentException("Flight where?");
+    public boolean isValid(String option) {
+        return option != null;
+    }
+
+    @Override
+    public String invalidMessage() {
+        return "Flight where?";
     }
 }
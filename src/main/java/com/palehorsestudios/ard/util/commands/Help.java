@@ -6,10 +6,13 @@ package com.palehorsestudios.ard.util.commands;
 public class Help implements Commands {
 
     @Override
-    public void do_command(String option) throws IllegalArgumentException {
-        // Check if the argument word do not match
-        if (!option.equals("Me")) {
-            throw new IllegalArgumentException("Invalid command. Try again!");
-        }
+    public boolean isValid(String option) {
+        // Check if the argument word matches
+        return "Me".equals(option);
+    }
+
+    @Override
+    public String invalidMessage() {
+        return "Invalid command. Try again!";
     }
 }
@@ -1,21 +1,17 @@
 package com.palehorsestudios.ard.util.commands;
 
-import com.palehorsestudios.ard.environment.Item;
-
-import java.util.Arrays;
-import java.util.List;
-
 /**
  * Look Class implements the Commands interface to validate user input
  */
 public class Look implements Commands {
 
+    @Override
+    public boolean isValid(String option) {
+        return "Around".equals(option) || "Me".equals(option) || Commands.isItem(option);
+    }
 
-  @Override
-    public void do_command(String option) throws IllegalArgumentException {
-     List<String> valid = List.of("Around", "Me");
-        if (option == null || !valid.contains(option)
-                && !Arrays.stream(Item.values()).anyMatch((items) -> items.name().equals(option)))
-            throw new IllegalArgumentException("Look what?");
+    @Override
+    public String invalidMessage() {
+        return "Look what?";
     }
-}
\ No newline at end of file
+}
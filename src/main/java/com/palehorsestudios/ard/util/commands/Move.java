@@ -2,17 +2,25 @@ package com.palehorsestudios.ard.util.commands;
 
 import com.palehorsestudios.ard.environment.Direction;
 
-import java.util.Arrays;
-
 /**
- * Move Class implements the Commands interface and throws exception if user input is not valid.
+ * Move Class implements the Commands interface and rejects anything that is not a direction.
  */
 public class Move implements Commands {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Override
+    public boolean isValid(String direction) {
+        // Check if the argument direction matches a direction in the Direction enum
+        for (Direction d : DIRECTIONS) {
+            if (d.name().equals(direction)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
-    public void do_command(String direction) throws IllegalArgumentException {
-        // Check if the argument direction do not match a direction in the Direction enum
-        if (!Arrays.stream(Direction.values()).anyMatch((directions) -> directions.name().equals(direction)))
-            // throw exception if not match found. Catch by parser() method.
-            throw new IllegalArgumentException("Move where?");
+    public String invalidMessage() {
+        return "Move where?";
     }
 }
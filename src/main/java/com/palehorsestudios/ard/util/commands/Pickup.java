@@ -1,17 +1,18 @@
 package com.palehorsestudios.ard.util.commands;
 
-import com.palehorsestudios.ard.environment.Item;
 import com.palehorsestudios.ard.environment.Room;
 
-import java.util.Arrays;
-
 /**
- * Pickup Class implements the Commands interface and throws exception if user input is not valid
+ * Pickup Class implements the Commands interface and accepts an item or "all"
  */
 public class Pickup implements Commands {
     @Override
-    public void do_command(String option) throws IllegalArgumentException {
-        if (!Arrays.stream(Item.values()).anyMatch((items) -> items.name().equals(option)) || !Room.ALL.contains(option.toLowerCase()))
-            throw new IllegalArgumentException("pickup what?");
+    public boolean isValid(String option) {
+        return Commands.isItem(option) || (option != null && Room.ALL.contains(option.toLowerCase()));
+    }
+
+    @Override
+    public String invalidMessage() {
+        return "pickup what?";
     }
 }
@@ -2,9 +2,12 @@ package com.palehorsestudios.ard.util.commands;
 
 public class Unlock implements Commands {
     @Override
-    public void do_command(String option) throws IllegalArgumentException {
-        if (option == null || !option.equals("Chest")) {
-            throw new IllegalArgumentException("Unlock what?");
-        }
+    public boolean isValid(String option) {
+        return "Chest".equals(option);
+    }
+
+    @Override
+    public String invalidMessage() {
+        return "Unlock what?";
     }
 }
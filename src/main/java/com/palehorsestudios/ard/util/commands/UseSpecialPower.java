@@ -3,9 +3,12 @@ package com.palehorsestudios.ard.util.commands;
 public class UseSpecialPower implements Commands {
 
     @Override
-    public void do_command(String option) throws IllegalArgumentException {
-        if (!option.equals("Power")) {
-            throw new IllegalArgumentException("Use what?");
-        }
+    public boolean isValid(String option) {
+        return "Power".equals(option);
+    }
+
+    @Override
+    public String invalidMessage() {
+        return "Use what?";
     }
 }
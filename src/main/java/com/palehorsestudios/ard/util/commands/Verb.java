@@ -0,0 +1,48 @@
+package com.palehorsestudios.ard.util.commands;
+
+/**
+ * Static registry of every command the game understands, each paired with the validator for its option. The
+ * keyword is the verb name used in the synonyms file.
+ */
+public enum Verb {
+    PICKUP("pickup", new Pickup()),
+    DROP("drop", new Drop()),
+    MOVE("move", new Move()),
+    FLIGHT("flight", new Flight()),
+    LOOK("look", new Look()),
+    FIGHT("fight", new Fight()),
+    HELP("help", new Help()),
+    UNLOCK("unlock", new Unlock()),
+    USE("use", new UseSpecialPower());
+
+    private final String keyword;
+    private final Commands command;
+
+    Verb(String keyword, Commands command) {
+        this.keyword = keyword;
+        this.command = command;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public Commands getCommand() {
+        return command;
+    }
+
+    /**
+     * Returns the verb with the given keyword, or null if there is none.
+     *
+     * @param keyword verb name, e.g. "move"
+     * @return the matching verb or null
+     */
+    public static Verb fromKeyword(String keyword) {
+        for (Verb verb : values()) {
+            if (verb.keyword.equals(keyword)) {
+                return verb;
+            }
+        }
+        return null;
+    }
+}
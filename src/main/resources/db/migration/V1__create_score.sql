@@ -0,0 +1,10 @@
+-- the score table as Hibernate used to create it; databases that already have it are baselined past this version
+create table score (
+    id               bigint       not null,
+    date             date,
+    name             varchar(255),
+    player_character varchar(255),
+    score            integer      not null,
+    level            integer      not null,
+    primary key (id)
+);
@@ -0,0 +1,6 @@
+-- next score id no node has reserved yet; each Leaderboard takes ids from here a block at a time, so nodes sharing
+-- the database never hand out the same one
+create table score_id_block (
+    next_id bigint not null
+);
+insert into score_id_block (next_id) select coalesce(max(id), 0) + 1 from score;
@@ -0,0 +1,95 @@
+package com.palehorsestudios.ard;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class CommandJournalTest {
+    Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("commands", ".journal");
+        file.toFile().deleteOnExit();
+    }
+
+    @Test
+    public void read_returnsAppendedEntries() throws IOException {
+        try (CommandJournal journal = CommandJournal.create(file, 99L, 1000L)) {
+            journal.append(CommandJournal.Kind.CHARACTER, 1L, 0, "A");
+            journal.append(CommandJournal.Kind.TURN, -2L, 3 << 8 | 0xFF, null);
+            journal.append(CommandJournal.Kind.NAV, 3L, 0, "\u00fcp");
+        }
+        CommandJournal.Recording recording = CommandJournal.read(file);
+        assertEquals(99L, recording.seed);
+        assertEquals(1000L, recording.started);
+        assertEquals(3, recording.entries.size());
+        CommandJournal.Entry turn = recording.entries.get(1);
+        assertEquals(CommandJournal.Kind.TURN, turn.kind);
+        assertEquals(-2L, turn.seed);
+        assertEquals(3 << 8 | 0xFF, turn.code);
+        assertNull(turn.text);
+        assertEquals("\u00fcp", recording.entries.get(2).text);
+    }
+
+    @Test
+    public void finish_recordsOutcomeOfLastEntry() throws IOException {
+        try (CommandJournal journal = CommandJournal.create(file, 1L, 0)) {
+            journal.append(CommandJournal.Kind.NAV, 1L, 0, "up");
+            journal.finish(true);
+            journal.append(CommandJournal.Kind.ANSWER, 2L, 0, "1");
+            journal.finish(false);
+            journal.append(CommandJournal.Kind.NAV, 3L, 0, "down");
+        }
+        CommandJournal.Recording recording = CommandJournal.read(file);
+        assertEquals(CommandJournal.Outcome.OK, recording.entries.get(0).outcome);
+        assertEquals(CommandJournal.Outcome.FAILED, recording.entries.get(1).outcome);
+        assertEquals(CommandJournal.Outcome.PENDING, recording.entries.get(2).outcome);
+    }
+
+    @Test
+    public void append_pastOneChunk_keepsEverything() throws IOException {
+        try (CommandJournal journal = CommandJournal.create(file, 1L, 0)) {
+            for (int i = 0; i < 10_000; i++) {
+                journal.append(CommandJournal.Kind.ANSWER, i, i, "answer " + i);
+                journal.finish(i % 2 == 0);
+            }
+        }
+        CommandJournal.Recording recording = CommandJournal.read(file);
+        assertEquals(10_000, recording.entries.size());
+        assertEquals("answer 9999", recording.entries.get(9999).text);
+        assertEquals(9999L, recording.entries.get(9999).seed);
+        assertEquals(CommandJournal.Outcome.FAILED, recording.entries.get(9999).outcome);
+    }
+
+    @Test
+    public void close_trimsUnusedSpace() throws IOException {
+        try (CommandJournal journal = CommandJournal.create(file, 1L, 0)) {
+            journal.append(CommandJournal.Kind.NAV, 1L, 0, "up");
+        }
+        assertTrue(Files.size(file) < 100);
+    }
+
+    @Test
+    public void read_tornLastEntry_keepsTheRest() throws IOException {
+        try (CommandJournal journal = CommandJournal.create(file, 1L, 0)) {
+            journal.append(CommandJournal.Kind.NAV, 1L, 0, "up");
+            journal.append(CommandJournal.Kind.NAV, 2L, 0, "down");
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertEquals(1, CommandJournal.read(file).entries.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_notAJournal_throws() throws IOException {
+        Files.write(file, new byte[64]);
+        CommandJournal.read(file);
+    }
+}
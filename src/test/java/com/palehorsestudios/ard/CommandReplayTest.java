@@ -0,0 +1,146 @@
+package com.palehorsestudios.ard;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CommandReplayTest {
+    static final String[] COMMANDS = {"look around", "move north", "fight monster", "pickup all", "move east",
+        "unlock chest", "dance", "move south", "fight monster", "use power", "move west", "move west", "fight"};
+
+    Path file;
+    Game game;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("game", ".journal");
+        file.toFile().deleteOnExit();
+        game = new Game(1234L);
+        game.record(CommandJournal.create(file, 1234L, 0));
+        game.selectCharacter("B");
+        for (String command : COMMANDS) {
+            game.turn(command);
+            game.navigate("up");
+            if (game.getPlayer().getCurrentRoom().getChest() != null) {
+                game.answer("1");
+            }
+        }
+        game.closeJournal();
+    }
+
+    @Test
+    public void replay_rebuildsTheSameGame() throws IOException {
+        CommandJournal.Recording recording = CommandJournal.read(file);
+        Game replayed = CommandReplay.replay(recording);
+        assertArrayEquals(SessionCodec.encode(game), SessionCodec.encode(replayed));
+    }
+
+    @Test
+    public void replay_twice_sameGame() throws IOException {
+        CommandJournal.Recording recording = CommandJournal.read(file);
+        assertArrayEquals(SessionCodec.encode(CommandReplay.replay(recording)),
+            SessionCodec.encode(CommandReplay.replay(recording)));
+    }
+
+    @Test
+    public void replay_gameCarriesOnLikeTheOriginal() throws IOException {
+        Game replayed = CommandReplay.replay(CommandJournal.read(file));
+        game.turn("move north");
+        replayed.turn("move north");
+        assertArrayEquals(SessionCodec.encode(game), SessionCodec.encode(replayed));
+    }
+
+    @Test
+    public void replay_answerWithoutChest_failsAgainAndGameCarriesOn() throws IOException {
+        long seed = 1;
+        while (new Game(seed).getGameMap().getStart().getChest() != null) {
+            seed++; // find a game that starts in a room without a chest
+        }
+        Path other = Files.createTempFile("chestless", ".journal");
+        other.toFile().deleteOnExit();
+        Game live = new Game(seed);
+        live.record(CommandJournal.create(other, seed, 0));
+        live.selectCharacter("A");
+        try {
+            live.answer("1");
+            fail("answer without a chest should throw");
+        } catch (RuntimeException expected) {
+            // the mailbox turns this into a failed future and the game carries on
+        }
+        live.turn("move north");
+        live.turn("look around");
+        live.closeJournal();
+
+        CommandJournal.Recording recording = CommandJournal.read(other);
+        assertEquals(CommandJournal.Kind.ANSWER, recording.entries.get(1).kind);
+        assertEquals(CommandJournal.Outcome.FAILED, recording.entries.get(1).outcome);
+        assertEquals(CommandJournal.Outcome.OK, recording.entries.get(2).outcome);
+        assertArrayEquals(SessionCodec.encode(live), SessionCodec.encode(CommandReplay.replay(recording)));
+        Game replayed = new Game(seed);
+        assertTrue(replayed.replay(recording.entries.get(0)));
+        assertFalse(replayed.replay(recording.entries.get(1)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void replay_recordedOkButThrows_throwsIllegalStateException() {
+        Game replayed = new Game(5L);
+        // no character yet, so there is no player to answer for
+        replayed.replay(new CommandJournal.Entry(CommandJournal.Kind.ANSWER, 1L, 0, "1", CommandJournal.Outcome.OK));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void replay_recordedFailedButGoesThrough_throwsIllegalStateException() {
+        Game replayed = new Game(5L);
+        replayed.replay(new CommandJournal.Entry(CommandJournal.Kind.CHARACTER, 1L, 0, "A",
+            CommandJournal.Outcome.FAILED));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void replay_pendingEntry_passesOnWhatItThrows() {
+        Game replayed = new Game(5L);
+        replayed.replay(new CommandJournal.Entry(CommandJournal.Kind.NAV, 1L, 0, "up",
+            CommandJournal.Outcome.PENDING));
+    }
+
+    @Test
+    public void replay_divergingJournal_namesTheEntry() throws IOException {
+        CommandJournal.Recording recording = CommandJournal.read(file);
+        List<CommandJournal.Entry> entries = new ArrayList<>(recording.entries);
+        CommandJournal.Entry character = entries.get(0);
+        entries.set(0, new CommandJournal.Entry(character.kind, character.seed, character.code, character.text,
+            CommandJournal.Outcome.FAILED));
+        try {
+            CommandReplay.replay(new CommandJournal.Recording(recording.seed, recording.started, entries));
+            fail("a journal that no longer matches the game should not replay");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("#0: replay diverged at CHARACTER B"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void replay_verbOutOfRange_throwsIllegalArgumentException() {
+        Game replayed = new Game(5L);
+        replayed.replay(new CommandJournal.Entry(CommandJournal.Kind.TURN, 1L, 0x0042, "North",
+            CommandJournal.Outcome.OK));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void replay_statusOutOfRange_throwsIllegalArgumentException() {
+        Game replayed = new Game(5L);
+        replayed.replay(new CommandJournal.Entry(CommandJournal.Kind.TURN, 1L, 0x7F00, "North",
+            CommandJournal.Outcome.OK));
+    }
+
+    @Test
+    public void seededGames_differentSeeds_differ() {
+        assertNotEquals(new Game(1L).getGameMap().getStart().getDescription() + new Game(1L).getGameMap().getStart().getX(),
+            new Game(2L).getGameMap().getStart().getDescription() + new Game(2L).getGameMap().getStart().getX());
+    }
+}
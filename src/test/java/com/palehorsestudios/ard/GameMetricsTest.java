@@ -0,0 +1,60 @@
+package com.palehorsestudios.ard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GameMetricsTest {
+    MeterRegistry registry;
+    GameMetrics metrics;
+    Game game;
+
+    @Before
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new GameMetrics(registry);
+        game = new Game();
+        game.selectCharacter("B");
+    }
+
+    @Test
+    public void turn_validCommand_timedUnderItsVerb() {
+        metrics.turn(game, "help me");
+        metrics.turn(game, "look around");
+        metrics.turn(game, "look me");
+        assertEquals(1, registry.find(GameMetrics.COMMAND).tag("verb", "help").timer().count());
+        assertEquals(2, registry.find(GameMetrics.COMMAND).tag("verb", "look").timer().count());
+        assertEquals(0, registry.find(GameMetrics.COMMAND).tag("verb", "move").timer().count());
+        assertEquals(0, registry.find(GameMetrics.COMMAND).tag("verb", "invalid").timer().count());
+    }
+
+    @Test
+    public void turn_unparsableCommand_countedByStatus() {
+        metrics.turn(game, "dance wildly");
+        metrics.turn(game, "move");
+        metrics.turn(game, "move sideways");
+        assertEquals(3, registry.find(GameMetrics.COMMAND).tag("verb", "invalid").timer().count());
+        assertEquals(1.0, registry.find(GameMetrics.PARSE_FAILURES).tag("status", "unknown_verb").counter().count(), 0);
+        assertEquals(1.0, registry.find(GameMetrics.PARSE_FAILURES).tag("status", "missing_option").counter().count(), 0);
+        assertEquals(1.0, registry.find(GameMetrics.PARSE_FAILURES).tag("status", "invalid_option").counter().count(), 0);
+    }
+
+    @Test
+    public void turn_returnsTheGamesResponse() {
+        assertEquals("Invalid command. Try again.", metrics.turn(game, "dance wildly").build().response);
+    }
+
+    @Test
+    public void bindTo_publishesSessionGauges() {
+        GameRegistry sessions = new GameRegistry(1000, () -> 0);
+        sessions.bindTo(registry);
+        sessions.get("a");
+        sessions.get("b");
+        assertEquals(2.0, registry.find("ard.sessions").gauge().value(), 0);
+        assertEquals(2.0, registry.find("ard.session.rooms").gauge().value(), 0);
+        assertEquals(1.0, registry.find("ard.session.rooms.max").gauge().value(), 0);
+    }
+}
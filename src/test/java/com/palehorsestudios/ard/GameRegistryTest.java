@@ -0,0 +1,87 @@
+package com.palehorsestudios.ard;
+
+import com.palehorsestudios.ard.characters.Ironman;
+import com.palehorsestudios.ard.util.SnapshotWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class GameRegistryTest {
+    long now;
+    GameRegistry registry;
+
+    @Before
+    public void setUp() {
+        now = 0;
+        registry = new GameRegistry(1000, () -> now);
+    }
+
+    @Test
+    public void get_sameSession_returnsSameGame() {
+        Game game = registry.get("a");
+        assertSame(game, registry.get("a"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void get_differentSessions_returnDifferentGames() {
+        assertNotSame(registry.get("a"), registry.get("b"));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void reset_replacesGame() {
+        Game game = registry.get("a");
+        assertNotSame(game, registry.reset("a"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void evictIdle_removesOnlyIdleSessions() {
+        registry.get("a");
+        registry.get("b");
+        now = 800;
+        registry.get("b"); // keeps b alive
+        now = 1500;
+        assertEquals(1, registry.evictIdle());
+        assertEquals(1, registry.size());
+        now = 2000;
+        assertEquals(1, registry.evictIdle());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void restore_checkpointedGames_replaceCurrentOnes() {
+        Game game = registry.get("a");
+        registry.get("b");
+        Map<String, byte[]> snapshots = registry.checkpoint();
+        assertEquals(2, snapshots.size());
+
+        GameRegistry restarted = new GameRegistry(1000, () -> now);
+        snapshots.put("c", new byte[]{1, 2, 3});
+        assertEquals(2, restarted.restore(snapshots));
+        assertEquals(2, restarted.size());
+        assertNotSame(game, restarted.get("a"));
+        assertEquals(game.getGameMap().getStart().getDescription(),
+            restarted.get("a").getGameMap().getStart().getDescription());
+    }
+
+    @Test
+    public void checkpoint_oneGameFailsToEncode_keepsTheOthers() {
+        registry.get("a");
+        Game broken = registry.get("b");
+        broken.setPlayer(new Ironman("Ironman", 100, broken.getGameMap().getStart(), new ArrayList<>(), 1) {
+            @Override
+            public void writeTo(SnapshotWriter out) {
+                throw new IllegalStateException("can't be written");
+            }
+        });
+        Map<String, byte[]> snapshots = registry.checkpoint();
+        assertEquals(1, snapshots.size());
+        assertTrue(snapshots.containsKey("a"));
+    }
+}
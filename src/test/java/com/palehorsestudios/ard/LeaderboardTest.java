@@ -0,0 +1,276 @@
+package com.palehorsestudios.ard;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class LeaderboardTest {
+    List<Score> saved;
+    long nextId; // next id the fake database reserves
+    Path journal;
+    Leaderboard leaderboard;
+
+    @Before
+    public void setUp() throws IOException {
+        saved = new ArrayList<>();
+        nextId = 1;
+        journal = Files.createTempFile("leaderboard", ".journal");
+        journal.toFile().deleteOnExit();
+        leaderboard = open();
+    }
+
+    @Test
+    public void top_returnsBestFirst_newerFirstOnTies() {
+        submit("a", 10);
+        submit("b", 30);
+        submit("c", 10);
+        List<ScoreEntry> entries = leaderboard.top(10).getEntries();
+        assertEquals(List.of("b", "c", "a"), names(entries));
+        assertNull(leaderboard.top(10).getNext());
+    }
+
+    @Test
+    public void after_walksEveryEntryOnce() {
+        for (int i = 0; i < 7; i++) {
+            submit("p" + i, i % 3);
+        }
+        List<ScoreEntry> all = new ArrayList<>();
+        LeaderboardPage page = leaderboard.top(3);
+        all.addAll(page.getEntries());
+        while (page.getNext() != null) {
+            page = leaderboard.after(page.getNext(), 3);
+            all.addAll(page.getEntries());
+        }
+        assertEquals(names(leaderboard.top(100).getEntries()), names(all));
+        assertEquals(7, all.size());
+    }
+
+    @Test
+    public void top_clampsSize() {
+        for (int i = 0; i < 120; i++) {
+            submit("p" + i, i);
+        }
+        assertEquals(Leaderboard.MAX_SIZE, leaderboard.top(1000).getEntries().size());
+        assertEquals(1, leaderboard.top(0).getEntries().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void after_badCursor_throws() {
+        leaderboard.after("nope", 10);
+    }
+
+    @Test
+    public void submit_returnsRankAndTopPage() {
+        submit("a", 50);
+        submit("b", 20);
+        LeaderboardPage page = leaderboard.submit(score("c", 30)).join();
+        assertEquals(Long.valueOf(2), page.getRank());
+        assertEquals(List.of("a", "c", "b"), names(page.getEntries()));
+        assertTrue(page.toText().startsWith("You placed #2\n"));
+    }
+
+    @Test
+    public void submit_isStoredOnlyOnFlush() {
+        submit("a", 10);
+        assertEquals(0, saved.size());
+        assertEquals(1, leaderboard.pending());
+        leaderboard.flush();
+        assertEquals(1, saved.size());
+        assertEquals(0, leaderboard.pending());
+        assertEquals(0, new ScoreJournal(journal).read().size());
+    }
+
+    @Test
+    public void flush_writesInBatches() {
+        for (int i = 0; i < Leaderboard.BATCH_SIZE * 2 + 1; i++) {
+            submit("p" + i, i);
+        }
+        leaderboard.flush();
+        assertEquals(Leaderboard.BATCH_SIZE * 2 + 1, saved.size());
+    }
+
+    @Test
+    public void open_warmsFromRepository() throws IOException {
+        for (int i = 0; i < Leaderboard.BATCH_SIZE + 5; i++) {
+            submit("p" + i, i % 7);
+        }
+        leaderboard.flush();
+        List<String> before = names(leaderboard.top(100).getEntries());
+        leaderboard.close();
+        leaderboard = open();
+        assertEquals(before, names(leaderboard.top(100).getEntries()));
+        assertEquals(0, leaderboard.pending());
+        assertEquals(Long.valueOf(1), leaderboard.submit(score("new", 6)).join().getRank());
+    }
+
+    @Test
+    public void open_replaysUnstoredScoresFromJournal() throws IOException {
+        submit("a", 10);
+        leaderboard.flush();
+        submit("b", 20);
+        submit("c", 5);
+        // crash: nothing flushed, nothing closed
+        leaderboard = open();
+        assertEquals(List.of("b", "a", "c"), names(leaderboard.top(10).getEntries()));
+        assertEquals(2, leaderboard.pending());
+        leaderboard.flush();
+        assertEquals(3, saved.size());
+        assertEquals(2L, (long) leaderboard.submit(score("d", 10)).join().getRank());
+    }
+
+    @Test
+    public void submit_nodesSharingTheDatabase_neverShareAnId() throws IOException {
+        Path other = Files.createTempFile("other", ".journal");
+        other.toFile().deleteOnExit();
+        Leaderboard second = open(other, Leaderboard.MAX_SIZE);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < Leaderboard.ID_BLOCK * 3; i++) {
+            Score first = score("a" + i, i);
+            leaderboard.submit(first).join();
+            Score next = score("b" + i, i);
+            second.submit(next).join();
+            assertTrue(ids.add(first.getId()));
+            assertTrue(ids.add(next.getId()));
+        }
+        second.close();
+    }
+
+    @Test
+    public void submit_manyAtOnce_allAcknowledged() {
+        List<CompletableFuture<LeaderboardPage>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(leaderboard.submit(score("p" + i, i)));
+        }
+        futures.forEach(CompletableFuture::join);
+        assertEquals(500, leaderboard.pending());
+        assertEquals(500, new ScoreJournal(journal).read().size());
+    }
+
+    @Test
+    public void submit_pastCapacity_holdsOnlyTheBest() throws IOException {
+        leaderboard.close();
+        leaderboard = open(journal, Leaderboard.MAX_SIZE);
+        for (int i = 0; i < Leaderboard.MAX_SIZE + 50; i++) {
+            submit("p" + i, i);
+        }
+        assertEquals(Leaderboard.MAX_SIZE, leaderboard.held());
+        assertEquals(Long.valueOf(Leaderboard.MAX_SIZE + 51),
+            leaderboard.submit(score("last", -1)).join().getRank());
+        assertEquals("p" + (Leaderboard.MAX_SIZE + 49), leaderboard.top(1).getEntries().get(0).getName());
+    }
+
+    @Test
+    public void after_pastCapacity_continuesFromRepository() throws IOException {
+        leaderboard.close();
+        leaderboard = open(journal, Leaderboard.MAX_SIZE);
+        for (int i = 0; i < Leaderboard.MAX_SIZE + 50; i++) {
+            submit("p" + i, i % 40);
+        }
+        leaderboard.flush();
+        List<ScoreEntry> all = new ArrayList<>();
+        LeaderboardPage page = leaderboard.top(30);
+        all.addAll(page.getEntries());
+        while (page.getNext() != null) {
+            page = leaderboard.after(page.getNext(), 30);
+            all.addAll(page.getEntries());
+        }
+        assertEquals(Leaderboard.MAX_SIZE + 50, all.size());
+        List<ScoreEntry> sorted = new ArrayList<>(all);
+        sorted.sort(Comparator.comparingInt(ScoreEntry::getScore).thenComparingLong(ScoreEntry::getId).reversed());
+        assertEquals(sorted, all);
+
+        leaderboard.close();
+        leaderboard = open(journal, Leaderboard.MAX_SIZE); // warms only up to capacity
+        assertEquals(Leaderboard.MAX_SIZE, leaderboard.held());
+        assertEquals(Long.valueOf(Leaderboard.MAX_SIZE + 51),
+            leaderboard.submit(score("last", -1)).join().getRank());
+    }
+
+    private Leaderboard open() {
+        return open(journal, 1000);
+    }
+
+    private Leaderboard open(Path file, int capacity) {
+        return new Leaderboard(fakeRepository(), new GameMetrics(new SimpleMeterRegistry()), new ScoreJournal(file),
+            capacity);
+    }
+
+    private void submit(String name, int points) {
+        leaderboard.submit(score(name, points)).join();
+    }
+
+    private static Score score(String name, int points) {
+        Score score = new Score();
+        score.setDate(LocalDate.of(2020, 1, 1));
+        score.setName(name);
+        score.setCharacter("Ironman");
+        score.setScore(points);
+        return score;
+    }
+
+    private static List<String> names(List<ScoreEntry> entries) {
+        return entries.stream().map(ScoreEntry::getName).collect(Collectors.toList());
+    }
+
+    // ScoreRepository backed by a list, answering the leaderboard queries the way the database would
+    private ScoreRepository fakeRepository() {
+        Comparator<Score> order = Comparator.comparingInt(Score::getScore).thenComparingLong(Score::getId).reversed();
+        return (ScoreRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{ScoreRepository.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "saveAll":
+                        for (Object score : (Iterable<?>) args[0]) {
+                            saved.add((Score) score);
+                        }
+                        return args[0];
+                    case "findTop":
+                        return query(s -> true, (Pageable) args[0], order);
+                    case "findAfter":
+                        int after = (int) args[0];
+                        long afterId = (long) args[1];
+                        return query(s -> s.getScore() < after || (s.getScore() == after && s.getId() < afterId),
+                            (Pageable) args[2], order);
+                    case "countByScore":
+                        return saved.stream().collect(Collectors.groupingBy(Score::getScore, Collectors.counting()))
+                            .entrySet().stream().map(e -> new Object[]{e.getKey(), e.getValue()})
+                            .collect(Collectors.toList());
+                    case "findStoredIds":
+                        Collection<?> wanted = (Collection<?>) args[0];
+                        return saved.stream().map(Score::getId).filter(wanted::contains).collect(Collectors.toList());
+                    case "reserveIds":
+                        synchronized (this) {
+                            long first = nextId;
+                            nextId += (int) args[0];
+                            return first;
+                        }
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    private List<ScoreEntry> query(Predicate<Score> where, Pageable page, Comparator<Score> order) {
+        return saved.stream().filter(where).sorted(order).limit(page.getPageSize())
+            .map(s -> new ScoreEntry(s.getId(), s.getDate(), s.getName(), s.getCharacter(), s.getScore(),
+                s.getLevel()))
+            .collect(Collectors.toList());
+    }
+}
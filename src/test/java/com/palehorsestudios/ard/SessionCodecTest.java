@@ -0,0 +1,133 @@
+package com.palehorsestudios.ard;
+
+import com.palehorsestudios.ard.characters.Boss;
+import com.palehorsestudios.ard.characters.Monster;
+import com.palehorsestudios.ard.characters.Player;
+import com.palehorsestudios.ard.characters.PlayerFactory;
+import com.palehorsestudios.ard.environment.Direction;
+import com.palehorsestudios.ard.environment.Item;
+import com.palehorsestudios.ard.environment.Room;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SessionCodecTest {
+    Game game;
+
+    @Before
+    public void setUp() {
+        game = new Game();
+        game.setPlayer(PlayerFactory.createPlayer(game.getGameMap().getStart(),
+            new ArrayList<>(List.of(Item.Sword, Item.Power_stone)), "B"));
+        Direction[] walk = {Direction.North, Direction.East, Direction.East, Direction.South, Direction.West};
+        for (Direction direction : walk) {
+            game.getGameMap().moveCharacter(game.getPlayer(), direction);
+        }
+        game.turn("look around"); // holding a stone, so the boss appears
+        game.getPlayer().setLife(-4);
+    }
+
+    @Test
+    public void decode_restoresPlayer() {
+        Game copy = SessionCodec.decode(SessionCodec.encode(game));
+        Player before = game.getPlayer();
+        Player after = copy.getPlayer();
+        assertEquals(before.getClass(), after.getClass());
+        assertEquals(before.getName(), after.getName());
+        assertEquals(-4, after.getLife());
+        assertEquals(before.getScore(), after.getScore());
+        assertEquals(before.getX(), after.getX());
+        assertEquals(before.getY(), after.getY());
+        assertEquals(before.getItemsInventory().toList(), after.getItemsInventory().toList());
+        assertEquals(before.getCurrentRoom().getId(), after.getCurrentRoom().getId());
+        assertSame(copy.getGameMap().getRoom(after.getCurrentRoom().getId()), after.getCurrentRoom());
+    }
+
+    @Test
+    public void decode_restoresRoomsAndConnections() {
+        Game copy = SessionCodec.decode(SessionCodec.encode(game));
+        assertEquals(game.getGameMap().size(), copy.getGameMap().size());
+        for (int id = 0; id < game.getGameMap().size(); id++) {
+            Room before = game.getGameMap().getRoom(id);
+            Room after = copy.getGameMap().getRoom(id);
+            assertEquals(before.getDescription(), after.getDescription());
+            assertEquals(before.getRoomInfo(), after.getRoomInfo());
+            for (int x = -1; x <= before.getX(); x++) {
+                for (int y = -1; y <= before.getY(); y++) {
+                    assertEquals(before.tileAt(x, y), after.tileAt(x, y));
+                }
+            }
+        }
+        // same walk back lands in the same rooms
+        Player player = copy.getPlayer();
+        copy.getGameMap().moveCharacter(player, Direction.East);
+        game.getGameMap().moveCharacter(game.getPlayer(), Direction.East);
+        assertEquals(game.getPlayer().getCurrentRoom().getId(), player.getCurrentRoom().getId());
+    }
+
+    @Test
+    public void decode_bossIsTheMonsterInItsRoom() {
+        Game copy = SessionCodec.decode(SessionCodec.encode(game));
+        List<Monster> monsters = copy.getPlayer().getCurrentRoom().getMonsters();
+        Monster boss = monsters.get(monsters.size() - 1);
+        assertTrue(boss instanceof Boss);
+        // the boss stays the same object the game tracks: defeating it in the room wins the game
+        boss.setLife(0);
+        copy.getPlayer().setLife(100);
+        assertTrue(copy.turn("look around").build().gameOver);
+    }
+
+    @Test
+    public void encode_decodedGame_sameBytes() {
+        byte[] snapshot = SessionCodec.encode(game);
+        assertArrayEquals(snapshot, SessionCodec.encode(SessionCodec.decode(snapshot)));
+    }
+
+    @Test
+    public void encode_beforeCharacterSelected_roundTrips() {
+        Game fresh = new Game();
+        Game copy = SessionCodec.decode(SessionCodec.encode(fresh));
+        assertNull(copy.getPlayer());
+        assertEquals(1, copy.getGameMap().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_wrongVersion_throws() {
+        byte[] snapshot = SessionCodec.encode(game);
+        snapshot[4] = (byte) (SessionCodec.VERSION + 1);
+        SessionCodec.decode(snapshot);
+    }
+
+    @Test
+    public void decode_truncated_throws() {
+        byte[] snapshot = SessionCodec.encode(game);
+        for (int length = 0; length < snapshot.length; length++) {
+            try {
+                SessionCodec.decode(Arrays.copyOf(snapshot, length));
+                fail("decoded " + length + " of " + snapshot.length + " bytes");
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void readFile_returnsWrittenSnapshots() throws IOException {
+        Path file = Files.createTempFile("sessions", ".snapshot");
+        file.toFile().deleteOnExit();
+        byte[] snapshot = SessionCodec.encode(game);
+        SessionCodec.writeFile(Map.of("a", snapshot, "b", new byte[0]), file);
+        Map<String, byte[]> read = SessionCodec.readFile(file);
+        assertEquals(2, read.size());
+        assertArrayEquals(snapshot, read.get("a"));
+        assertEquals(0, read.get("b").length);
+    }
+}
@@ -0,0 +1,113 @@
+package com.palehorsestudios.ard;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SessionMailboxTest {
+
+    @Test
+    public void submit_runsTasksInSubmissionOrder() throws Exception {
+        ExecutorService workers = GameRegistry.newWorkerPool(4);
+        SessionMailbox mailbox = new SessionMailbox(workers);
+        List<Integer> order = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int n = i;
+            results.add(mailbox.submit(null, game -> {
+                order.add(n);
+                return n;
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get();
+        workers.shutdown();
+
+        assertEquals(1000, order.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+    }
+
+    @Test
+    public void submit_fromManyThreads_neverRunsTwoTasksAtOnce() throws Exception {
+        ExecutorService workers = GameRegistry.newWorkerPool(4);
+        ExecutorService clients = GameRegistry.newWorkerPool(8);
+        SessionMailbox mailbox = new SessionMailbox(workers);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> mailbox.submit(null, game -> {
+                if (running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                running.decrementAndGet();
+                return null;
+            }), clients).thenCompose(future -> future));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get();
+        workers.shutdown();
+        clients.shutdown();
+
+        assertEquals(0, overlaps.get());
+        assertEquals(0, mailbox.pending());
+    }
+
+    @Test
+    public void submit_actionThrows_completesExceptionally() {
+        ExecutorService workers = GameRegistry.newWorkerPool(1);
+        SessionMailbox mailbox = new SessionMailbox(workers);
+        CompletableFuture<Object> result = mailbox.submit(null, game -> {
+            throw new IllegalStateException("boom");
+        });
+        try {
+            result.join();
+            fail("expected exception");
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        workers.shutdown();
+    }
+
+    @Test
+    public void submit_actionThrowsError_nextSubmitStillCompletes() throws Exception {
+        ExecutorService workers = GameRegistry.newWorkerPool(1);
+        SessionMailbox mailbox = new SessionMailbox(workers);
+        CompletableFuture<Object> failed = mailbox.submit(null, game -> {
+            throw new AssertionError("boom");
+        });
+        try {
+            failed.get(5, TimeUnit.SECONDS);
+            fail("expected the Error to fail the future");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+        assertEquals(42, (int) mailbox.submit(null, game -> 42).get(5, TimeUnit.SECONDS));
+        workers.shutdown();
+    }
+
+    @Test
+    public void submit_afterExecutorShutdown_failsInsteadOfHanging() throws Exception {
+        ExecutorService workers = GameRegistry.newWorkerPool(1);
+        workers.shutdown();
+        SessionMailbox mailbox = new SessionMailbox(workers);
+        for (int i = 0; i < 2; i++) {
+            try {
+                mailbox.submit(null, game -> 1).get(5, TimeUnit.SECONDS);
+                fail("expected the rejected submit to fail");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+        }
+        assertEquals(0, mailbox.pending());
+    }
+}
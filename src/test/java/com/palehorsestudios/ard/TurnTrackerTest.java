@@ -0,0 +1,57 @@
+package com.palehorsestudios.ard;
+
+import com.palehorsestudios.ard.characters.PlayerFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class TurnTrackerTest {
+    Game game;
+    TurnTracker turns;
+
+    @Before
+    public void setUp() {
+        game = new Game();
+        game.setPlayer(PlayerFactory.createPlayer(game.getGameMap().getStart(), new ArrayList<>(), "A"));
+        turns = new TurnTracker();
+    }
+
+    @Test
+    public void respond_firstTurn_sendsFullState() {
+        Response response = turns.respond(game, new Response.Builder(), 0);
+        assertEquals(1, response.version);
+        assertNotNull(response.playerInfo);
+        assertNotNull(response.roomInfo);
+        assertNotNull(response.currentRoom);
+    }
+
+    @Test
+    public void respond_acknowledgedAndUnchanged_sendsNoState() {
+        Response first = turns.respond(game, new Response.Builder(), 0);
+        Response second = turns.respond(game, new Response.Builder(), first.version);
+        assertEquals(2, second.version);
+        assertNull(second.playerInfo);
+        assertNull(second.roomInfo);
+        assertNull(second.currentRoom);
+    }
+
+    @Test
+    public void respond_onlyPlayerChanged_sendsOnlyPlayer() {
+        Response first = turns.respond(game, new Response.Builder(), 0);
+        game.getPlayer().setLife(1);
+        Response second = turns.respond(game, new Response.Builder(), first.version);
+        assertEquals("1", second.playerInfo.get("life"));
+        assertNull(second.roomInfo);
+    }
+
+    @Test
+    public void respond_staleAcknowledgement_sendsFullState() {
+        turns.respond(game, new Response.Builder(), 0);
+        Response second = turns.respond(game, new Response.Builder(), 0);
+        assertNotNull(second.playerInfo);
+        assertNotNull(second.roomInfo);
+    }
+}
@@ -0,0 +1,69 @@
+package com.palehorsestudios.ard.characters;
+
+import com.palehorsestudios.ard.environment.Item;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InventoryTest {
+    Inventory inventory = new Inventory();
+
+    @Test
+    public void add_countsDuplicates() {
+        inventory.add(Item.Food);
+        inventory.add(Item.Food);
+        assertEquals(2, inventory.count(Item.Food));
+        assertEquals(2, inventory.size());
+        assertTrue(inventory.contains(Item.Food));
+    }
+
+    @Test
+    public void remove_keepsItem_untilLastOneRemoved() {
+        inventory.add(Item.Milk);
+        inventory.add(Item.Milk);
+        assertTrue(inventory.remove(Item.Milk));
+        assertTrue(inventory.contains(Item.Milk));
+        assertTrue(inventory.remove(Item.Milk));
+        assertFalse(inventory.contains(Item.Milk));
+        assertFalse(inventory.remove(Item.Milk));
+        assertTrue(inventory.isEmpty());
+    }
+
+    @Test
+    public void containsAny_stones() {
+        inventory.add(Item.Sword);
+        assertFalse(inventory.containsAny(Inventory.STONES));
+        inventory.add(Item.Time_stone);
+        assertTrue(inventory.containsAny(Inventory.STONES));
+        assertFalse(inventory.containsAny(Inventory.maskOf(Item.Soul_stone)));
+    }
+
+    @Test
+    public void toList_andToString_inItemOrder() {
+        Inventory items = new Inventory(Arrays.asList(Item.Shield, Item.Sword, Item.Shield));
+        assertEquals(Arrays.asList(Item.Sword, Item.Shield, Item.Shield), items.toList());
+        assertEquals("Sword, Shield, Shield", items.toString());
+        assertEquals("", inventory.toString());
+    }
+
+    @Test
+    public void nullItems_areIgnored() {
+        inventory.add(null);
+        inventory.addAll(null);
+        assertFalse(inventory.contains(null));
+        assertFalse(inventory.remove(null));
+        assertEquals(0, inventory.size());
+    }
+
+    @Test
+    public void constructor_copiesList() {
+        List<Item> list = new ArrayList<>(Arrays.asList(Item.Food));
+        Inventory items = new Inventory(list);
+        list.add(Item.Milk);
+        assertEquals(1, items.size());
+    }
+}
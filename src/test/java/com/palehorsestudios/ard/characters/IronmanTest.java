@@ -23,7 +23,7 @@ public class IronmanTest {
         assertEquals(1, player.getItemsInventory().size());
 
         Item[] items = {};
-        items = player.getItemsInventory().toArray(items);
+        items = player.getItemsInventory().toList().toArray(items);
         assertTrue(Arrays.stream(Item.values()).anyMatch(items[0]::equals));
     }
 
@@ -2,6 +2,7 @@ package com.palehorsestudios.ard.characters;
 
 import com.palehorsestudios.ard.environment.Item;
 import com.palehorsestudios.ard.environment.Room;
+import com.palehorsestudios.ard.util.Codes;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -17,7 +18,7 @@ public class PlayerTest {
     Room room1 = new Room("room", 1);  //empty room
     Player player = new Wolverine("Wolverine", 100, room1, playerInventory, 1);
     List<Item> testList1 = new ArrayList<>();  //empty list
-    List<Item> testList2 = room1.getItems();   //list same as room inventory
+    List<Item> testList2;   //copy of room inventory
 
     @Before
     public void setUp() throws Exception {
@@ -27,11 +28,12 @@ public class PlayerTest {
     @Test
     public void testPickUpItemPositive(){
         room1.addItem(Item.valueOf("Food"));  //add Food to room inventory
+        testList2 = room1.getItems();
         player.pickUpItem("Food"); //player pickup Food
 
 
         testList1.add(Item.valueOf("Food"));
-        assertEquals(player.getItemsInventory(), testList1); //assert player inventory ("Food") and testList1 ("Food")
+        assertEquals(player.getItemsInventory().toList(), testList1); //assert player inventory ("Food") and testList1 ("Food")
 
         testList2.remove(Item.valueOf("Food"));
         assertEquals(room1.getItems(), testList2); //assert room inventory (no "Food") and testList2 (no "Food")
@@ -39,11 +41,54 @@ public class PlayerTest {
 
     @Test
     public void testDropItem(){
-        playerInventory.add(Item.valueOf("Milk")); //add Milk to player inventory
+        player.getItemsInventory().add(Item.valueOf("Milk")); //add Milk to player inventory
+        testList2 = room1.getItems();
         player.dropItem("Milk"); //player drop off Milk
-        assertEquals(player.getItemsInventory(), testList1); //assert player inventory (empty) and testList1 (empty)
+        assertEquals(player.getItemsInventory().toList(), testList1); //assert player inventory (empty) and testList1 (empty)
         testList2.add(Item.valueOf("Milk"));
         assertEquals(room1.getItems(), testList2); //assert room inventory (with "Milk") and testList2 (with "Milk")
     }
 
+    @Test
+    public void testNavigateIntoWall(){
+        room1.getItems().forEach(room1::grabItem);
+        new ArrayList<>(room1.getMonsters()).forEach(room1::defeatMonster);
+        room1.setChest(null);
+        player.setCurrentRoom(room1);
+
+        while (player.getX() > 0) {
+            assertTrue(player.navigate("left").startsWith("Moving"));
+        }
+        assertEquals("Banging my head against a wall...", player.navigate("left"));
+        assertEquals(0, player.getX());
+    }
+
+    @Test
+    public void testNavigateUnknownDirection(){
+        int x = player.getX();
+        int y = player.getY();
+        assertEquals("Banging my head against a wall...", player.navigate("bogus"));
+        assertEquals(x, player.getX());
+        assertEquals(y, player.getY());
+    }
+
+    @Test
+    public void testNavigateBlockedByMonster(){
+        room1.getItems().forEach(room1::grabItem);
+        new ArrayList<>(room1.getMonsters()).forEach(room1::defeatMonster);
+        Monster monster = new Normal("Chucky", 10, "Bad");
+        room1.addMonster(monster);
+        player.setCurrentRoom(room1);
+
+        String result = "";
+        for (int i = 0; i < 40 && !result.startsWith("Bumped"); i++) {
+            if (player.getY() != monster.getY()) {
+                result = player.navigate(player.getY() < monster.getY() ? "up" : "down");
+            } else {
+                result = player.navigate(player.getX() < monster.getX() ? "right" : "left");
+            }
+        }
+        assertEquals("Bumped into " + Codes.Monster.withColor("Chucky") + "!", result);
+        assertNotEquals(monster.getX() * 100 + monster.getY(), player.getX() * 100 + player.getY());
+    }
 }
@@ -0,0 +1,68 @@
+package com.palehorsestudios.ard.combat;
+
+import com.palehorsestudios.ard.util.Codes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CombatLogTest {
+    CombatLog log = new CombatLog("Wolverine");
+
+    @Test
+    public void events_roundTripThroughPacking() {
+        log.playerStrikes("Chucky", 2, 17, 33);
+        log.monsterStrikes("Chucky", 4, 0, 100);
+        log.playerStrikes("Chucky", 0, 29, -4);
+        log.monsterStrikes("Bezos", 1, 12, -2);
+
+        assertEquals(4, log.size());
+        assertEquals(CombatLog.Type.HIT, log.type(0));
+        assertTrue(log.byPlayer(0));
+        assertEquals(2, log.verb(0));
+        assertEquals(17, log.damage(0));
+        assertEquals(33, log.remainingLife(0));
+
+        assertEquals(CombatLog.Type.MISS, log.type(1));
+        assertFalse(log.byPlayer(1));
+        assertEquals(CombatLog.Type.KILL, log.type(2));
+        assertEquals(-4, log.remainingLife(2));
+        assertEquals(CombatLog.Type.PLAYER_DEATH, log.type(3));
+        assertEquals("Bezos", log.monster(3));
+    }
+
+    @Test
+    public void ansi_matchesOriginalText() {
+        log.playerStrikes("Chucky", 0, 10, 40);
+        String monster = Codes.Monster.withColor("Chucky");
+        assertEquals(Codes.Player.withColor("Wolverine") + " fiercely hit " + monster + " and " + monster
+                + " lost life value of: " + Codes.Monster.getColor().negative(10) + monster
+                + " current life value is: " + Codes.Life.withColor(40), CombatRenderer.ANSI.render(log));
+    }
+
+    @Test
+    public void plain_hasNoEscapeCodes_andOneLinePerEvent() {
+        log.playerStrikes("Chucky", 0, 50, 0);
+        log.monsterStrikes("Bezos", 0, 120, -20);
+        assertEquals("Wolverine killed Chucky\nSorry Bezos killed you.", CombatRenderer.PLAIN.render(log));
+    }
+
+    @Test
+    public void noTarget_isAnEvent_renderedByEveryRenderer() {
+        log.noTarget();
+        assertEquals(CombatLog.Type.NO_TARGET, log.type(0));
+        assertTrue(log.byPlayer(0));
+        assertNull(log.monster(0));
+        assertEquals("Just kidding! No monster in this room", CombatRenderer.ANSI.render(log));
+        assertEquals("Just kidding! No monster in this room", CombatRenderer.PLAIN.render(log));
+        assertEquals("[{\"type\":\"no_target\",\"by\":\"player\",\"monster\":null,\"damage\":0,\"life\":0}]",
+                CombatRenderer.JSON.render(log));
+    }
+
+    @Test
+    public void json_rendersArrayOfEvents() {
+        log.monsterStrikes("Big \"B\"", 3, 5, 95);
+        assertEquals("[{\"type\":\"hit\",\"by\":\"monster\",\"monster\":\"Big \\\"B\\\"\",\"damage\":5,\"life\":95}]",
+                CombatRenderer.JSON.render(log));
+        assertEquals("[]", CombatRenderer.JSON.render(new CombatLog("x")));
+    }
+}
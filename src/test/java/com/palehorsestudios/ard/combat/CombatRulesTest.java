@@ -0,0 +1,56 @@
+package com.palehorsestudios.ard.combat;
+
+import com.palehorsestudios.ard.util.Dice;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class CombatRulesTest {
+
+    @Test
+    public void playerStrikesFirst_onARollOfZero() {
+        assertTrue(CombatRules.playerStrikesFirst((origin, bound) -> origin));
+        assertFalse(CombatRules.playerStrikesFirst((origin, bound) -> bound - 1));
+    }
+
+    @Test
+    public void damage_staysInRange_forEitherRollSource() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 1000; i++) {
+            int live = CombatRules.damage(3, 5, Dice::nextInt);
+            int simulated = CombatRules.damage(3, 5, random::nextInt);
+            assertTrue(live >= 3 && live < 5);
+            assertTrue(simulated >= 3 && simulated < 5);
+        }
+    }
+
+    @Test
+    public void alive_onlyAboveZero() {
+        assertTrue(CombatRules.alive(1));
+        assertFalse(CombatRules.alive(0));
+        assertFalse(CombatRules.alive(CombatRules.struck(10, 15)));
+    }
+
+    @Test
+    public void kill_rewardsPlayerAndToughensMonsters() {
+        assertEquals(120, CombatRules.rewarded(100, Difficulty.LIFE_REWARD));
+        assertEquals(70, CombatRules.nextMonsterLife(Difficulty.MONSTER_LIFE, Difficulty.MONSTER_LIFE_STEP));
+    }
+
+    @Test
+    public void simulatorAndEngine_sameSeed_sameRound() {
+        // a seeded Dice and a SplittableRandom with the same seed roll alike, so the two sides of the rules agree
+        SplittableRandom random = new SplittableRandom(11);
+        boolean simulated = CombatRules.playerStrikesFirst(random::nextInt);
+        int simulatedDamage = CombatRules.damage(0, 30, random::nextInt);
+        boolean live = Dice.seeded(11, () -> CombatRules.playerStrikesFirst(Dice::nextInt));
+        int liveDamage = Dice.seeded(11, () -> {
+            CombatRules.playerStrikesFirst(Dice::nextInt);
+            return CombatRules.damage(0, 30, Dice::nextInt);
+        });
+        assertEquals(simulated, live);
+        assertEquals(simulatedDamage, liveDamage);
+    }
+}
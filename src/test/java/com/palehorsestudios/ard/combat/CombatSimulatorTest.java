@@ -0,0 +1,50 @@
+package com.palehorsestudios.ard.combat;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class CombatSimulatorTest {
+    CombatSimulator.Rules rules = CombatSimulator.Rules.defaults();
+
+    @Test
+    public void sameSeed_sameReport_whateverThePoolSize() {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            CombatSimulator.Report a = CombatSimulator.simulate(rules, 20_000, 7, one);
+            CombatSimulator.Report b = CombatSimulator.simulate(rules, 20_000, 7, four);
+            assertEquals(a.getRuns(), b.getRuns());
+            assertEquals(a.getWins(), b.getWins());
+            assertEquals(a.getKills(), b.getKills());
+            assertEquals(a.meanRoundsToKill(), b.meanRoundsToKill(), 0);
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    public void weakMonsters_playerAlwaysWins() {
+        // damage is always 1..1: the player kills a 1-life monster every round and only ever takes 1 damage back
+        CombatSimulator.Rules easy = new CombatSimulator.Rules(100, 0, 1, 0, 1, 2, 5);
+        CombatSimulator.Report report = CombatSimulator.simulate(easy, 1000, 1);
+        assertEquals(1000, report.getRuns());
+        assertEquals(1.0, report.winRate(), 0);
+        assertEquals(1.0, report.meanRoundsToKill(), 0);
+    }
+
+    @Test
+    public void defaults_giveRatesBetweenZeroAndOne() {
+        CombatSimulator.Report report = CombatSimulator.simulate(rules, 10_000, 3);
+        assertTrue(report.winRate() >= 0 && report.winRate() <= 1);
+        assertTrue(report.meanRoundsToKill() >= 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyDamageRange_throwsIllegalArgumentException() {
+        new CombatSimulator.Rules(100, 20, 50, 20, 5, 5, 10);
+    }
+}
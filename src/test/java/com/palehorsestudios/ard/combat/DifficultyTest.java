@@ -0,0 +1,38 @@
+package com.palehorsestudios.ard.combat;
+
+import com.palehorsestudios.ard.environment.RoomMap;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DifficultyTest {
+
+    @Test
+    public void randomDamage_staysInRange() {
+        Difficulty difficulty = new Difficulty(50, 20, 3, 5, 20);
+        for (int i = 0; i < 1000; i++) {
+            int damage = difficulty.randomDamage();
+            assertTrue(damage >= 3 && damage < 5);
+        }
+    }
+
+    @Test
+    public void levelUp_addsStep() {
+        Difficulty difficulty = new Difficulty();
+        difficulty.levelUp();
+        difficulty.levelUp();
+        assertEquals(Difficulty.MONSTER_LIFE + 2 * Difficulty.MONSTER_LIFE_STEP, difficulty.getMonsterStartingLife());
+    }
+
+    @Test
+    public void roomMap_sharesOneDifficulty() {
+        Difficulty difficulty = new Difficulty();
+        RoomMap map = new RoomMap(difficulty);
+        assertSame(difficulty, map.getStart().getDifficulty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyDamageRange_throwsIllegalArgumentException() {
+        new Difficulty(50, 20, 10, 10, 20);
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.Test;
 
 import static com.palehorsestudios.ard.characters.MonsterFactory.*;
 import static com.palehorsestudios.ard.combat.WinOrLose.IncreasePlayerLife;
+import static com.palehorsestudios.ard.combat.WinOrLose.LevelUp;
 import static org.junit.Assert.*;
 
 public class WinOrLoseTest {
@@ -25,14 +26,25 @@ public class WinOrLoseTest {
         player.setLevel(player.getLevel() + 1);
         int actualLevel = player.getLevel();
 
-        IncreasePlayerLife(player);
+        IncreasePlayerLife(player, currentRoom.getDifficulty());
         int actualPlayerLife = player.getLife();
 
-        setMonsterStartingLife(getMonsterStartingLife() + 20);
-        int actualMonsterStartingLife = getMonsterStartingLife();
+        currentRoom.getDifficulty().levelUp();
+        int actualMonsterStartingLife = currentRoom.getDifficulty().getMonsterStartingLife();
 
         assertEquals(expectedLevel, actualLevel);
         assertEquals(expextedPlayerLife, actualPlayerLife);
         assertEquals(expectedMonsterStartingLife, actualMonsterStartingLife);
     }
+
+    @Test
+    public void levelUp_onlyHardensThisGame() {
+        Room otherGame = new Room("other", 3);
+        LevelUp(player);
+        assertEquals(70, currentRoom.getDifficulty().getMonsterStartingLife());
+        assertEquals(50, otherGame.getDifficulty().getMonsterStartingLife());
+        assertEquals(70, createMonster(currentRoom.getDifficulty()).getLife());
+        assertEquals(2, player.getLevel());
+        assertEquals(120, player.getLife());
+    }
 }
\ No newline at end of file
@@ -6,6 +6,9 @@ import com.palehorsestudios.ard.characters.Wolverine;
 import com.palehorsestudios.ard.environment.Room;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
 import static com.palehorsestudios.ard.characters.MonsterFactory.createMonster;
 import static com.palehorsestudios.ard.combat.combatEngine.*;
 import static org.junit.Assert.*;
@@ -22,7 +25,7 @@ public class combatEngineTest {
     public void checkForMonsterInRoomNegativeTest() {
         boolean actual = false;
         currentRoom.addMonster(monster);
-        currentRoom.getMonsters().clear();
+        currentRoom.clearMonsters();
         boolean expected = checkForMonsterInRoom(currentRoom);
         assertEquals(expected, actual);
     }
@@ -33,12 +36,29 @@ public class combatEngineTest {
     @Test
     public void checkForMonsterInRoomPositiveTest() {
         boolean actual = true;
-        currentRoom.getMonsters().clear();
+        currentRoom.clearMonsters();
         currentRoom.addMonster(monster);
         boolean expected = checkForMonsterInRoom(currentRoom);
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void fightRoomMonster_emptyRoom_recordsNoTargetAndPrintsNothing() {
+        currentRoom.clearMonsters();
+        CombatLog log = new CombatLog(player.getName());
+        PrintStream out = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(printed));
+        try {
+            fightRoomMonster(player, log);
+        } finally {
+            System.setOut(out);
+        }
+        assertEquals(0, printed.size());
+        assertEquals(1, log.size());
+        assertEquals(CombatLog.Type.NO_TARGET, log.type(0));
+    }
+
     /**
      * Passed if player has one life point
      */
@@ -0,0 +1,55 @@
+package com.palehorsestudios.ard.environment;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ItemPlacementsTest {
+    ItemPlacements placements = new ItemPlacements();
+
+    @Test
+    public void add_packsItemAndCoordinates() {
+        placements.add(Item.Soul_stone, 9, 3);
+        assertEquals(1, placements.size());
+        assertEquals(Item.Soul_stone, placements.item(0));
+        assertEquals(9, placements.x(0));
+        assertEquals(3, placements.y(0));
+    }
+
+    @Test
+    public void sameItem_placedTwice_keepsOwnCoordinates() {
+        placements.add(Item.Sword, 1, 2);
+        placements.add(Item.Sword, 4, 5);
+        assertEquals(1, placements.x(0));
+        assertEquals(4, placements.x(1));
+    }
+
+    @Test
+    public void remove_firstMatch_keepsOrder() {
+        placements.add(Item.Food, 0, 0);
+        placements.add(Item.Milk, 1, 1);
+        placements.add(Item.Food, 2, 2);
+        placements.add(Item.Shield, 3, 3);
+        placements.add(Item.Sword, 4, 4);
+
+        assertEquals(0, placements.remove(Item.Food));
+        assertEquals(Arrays.asList(Item.Milk, Item.Food, Item.Shield, Item.Sword), placements.items());
+        assertEquals(2, placements.x(1));
+        assertEquals(-1, placements.remove(Item.Time_stone));
+    }
+
+    @Test
+    public void twoRooms_withSameItem_doNotShareCoordinates() {
+        Room first = new Room("first", 1);
+        Room second = new Room("second", 2);
+        first.getItems().forEach(first::grabItem);
+        first.addItem(Item.Sword);
+        String x = first.getRoomInfo().get(1).get("x");
+        for (int i = 0; i < 20; i++) {
+            second.addItem(Item.Sword);
+        }
+        assertEquals(x, first.getRoomInfo().get(1).get("x"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.palehorsestudios.ard.environment;
+
+import com.palehorsestudios.ard.characters.Normal;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class OccupancyGridTest {
+    Room room;
+
+    @Before
+    public void setUp() {
+        room = new Room("room", 1);
+        room.getItems().forEach(room::grabItem);
+        new ArrayList<>(room.getMonsters()).forEach(room::defeatMonster);
+    }
+
+    @Test
+    public void offGrid_readsAsWall() {
+        OccupancyGrid grid = new OccupancyGrid(3, 3);
+        assertEquals(OccupancyGrid.WALL, OccupancyGrid.kindOf(grid.get(-1, 0)));
+        assertEquals(OccupancyGrid.WALL, OccupancyGrid.kindOf(grid.get(0, 3)));
+        assertEquals(OccupancyGrid.EMPTY, OccupancyGrid.kindOf(grid.get(2, 2)));
+    }
+
+    @Test
+    public void claimFree_neverOverlaps_untilFull() {
+        OccupancyGrid grid = new OccupancyGrid(3, 3);
+        Set<Integer> tiles = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            tiles.add(grid.claimFree(2, 2, OccupancyGrid.CHEST_TILE));
+        }
+        assertEquals(4, tiles.size());
+        // full: tile is shared and not overwritten
+        int extra = grid.claimFree(2, 2, OccupancyGrid.itemTile(Item.Sword));
+        assertEquals(OccupancyGrid.CHEST, OccupancyGrid.kindOf(grid.get(extra >>> 8, extra & 0xFF)));
+    }
+
+    @Test
+    public void clear_onlyClearsExpectedValue() {
+        OccupancyGrid grid = new OccupancyGrid(1, 1);
+        grid.claimFree(1, 1, OccupancyGrid.MONSTER_TILE);
+        grid.clear(0, 0, OccupancyGrid.itemTile(Item.Food));
+        assertEquals(OccupancyGrid.MONSTER, OccupancyGrid.kindOf(grid.get(0, 0)));
+        grid.clear(0, 0, OccupancyGrid.MONSTER_TILE);
+        assertEquals(OccupancyGrid.EMPTY, OccupancyGrid.kindOf(grid.get(0, 0)));
+    }
+
+    @Test
+    public void room_tracksItemsMonstersAndChest() {
+        room.addItem(Item.Milk);
+        String[] info = {room.getRoomInfo().get(1).get("x"), room.getRoomInfo().get(1).get("y")};
+        short tile = room.tileAt(Integer.parseInt(info[0]), Integer.parseInt(info[1]));
+        assertEquals(OccupancyGrid.ITEM, OccupancyGrid.kindOf(tile));
+        assertEquals(Item.Milk, OccupancyGrid.itemOf(tile));
+
+        Normal monster = new Normal("Chucky", 10, "Bad");
+        room.addMonster(monster);
+        assertSame(monster, room.monsterAt(monster.getX(), monster.getY()));
+        room.defeatMonster(monster);
+        assertNull(room.monsterAt(monster.getX(), monster.getY()));
+        assertEquals(OccupancyGrid.EMPTY, OccupancyGrid.kindOf(room.tileAt(monster.getX(), monster.getY())));
+
+        Chest chest = new Chest(new Puzzle("q", "easy", "a", Set.of("b")));
+        room.setChest(chest);
+        assertEquals(OccupancyGrid.CHEST, OccupancyGrid.kindOf(room.tileAt(chest.getX(), chest.getY())));
+
+        room.grabItem(Item.Milk);
+        assertEquals(OccupancyGrid.EMPTY, OccupancyGrid.kindOf(room.tileAt(Integer.parseInt(info[0]),
+                Integer.parseInt(info[1]))));
+    }
+}
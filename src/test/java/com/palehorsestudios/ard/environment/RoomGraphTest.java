@@ -0,0 +1,43 @@
+package com.palehorsestudios.ard.environment;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RoomGraphTest {
+
+    @Test
+    public void addRoom_handsOutDenseIds_andGrowsPastExpected() {
+        RoomGraph graph = new RoomGraph(2);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, graph.addRoom());
+        }
+        assertEquals(100, graph.size());
+        for (Direction direction : Direction.values()) {
+            assertEquals(RoomGraph.NONE, graph.neighbor(99, direction));
+        }
+    }
+
+    @Test
+    public void link_setsOnlyThatDirection() {
+        RoomGraph graph = new RoomGraph(4);
+        int a = graph.addRoom();
+        int b = graph.addRoom();
+        graph.link(a, Direction.East, b);
+
+        assertEquals(b, graph.neighbor(a, Direction.East));
+        assertEquals(RoomGraph.NONE, graph.neighbor(a, Direction.West));
+        assertEquals(RoomGraph.NONE, graph.neighbor(b, Direction.West));
+    }
+
+    @Test
+    public void contains_onlyAddedIds() {
+        RoomGraph graph = new RoomGraph(4);
+        graph.addRoom();
+        assertTrue(graph.contains(0));
+        assertFalse(graph.contains(1));
+        assertFalse(graph.contains(-1));
+    }
+}
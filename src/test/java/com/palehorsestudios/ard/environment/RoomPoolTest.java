@@ -0,0 +1,54 @@
+package com.palehorsestudios.ard.environment;
+
+import com.palehorsestudios.ard.combat.Difficulty;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class RoomPoolTest {
+
+    @Test
+    public void take_generatesOnCaller_whenPoolIsEmpty() {
+        RoomPool pool = new RoomPool(4, 0);
+        assertNotNull(pool.take());
+        assertEquals(0, pool.hits());
+        assertEquals(1, pool.misses());
+    }
+
+    @Test
+    public void workers_fillPoolUpToCapacity() throws InterruptedException {
+        RoomPool pool = new RoomPool(4, 1);
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (pool.available() < 4 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(4, pool.available());
+            assertNotNull(pool.take());
+            assertEquals(1, pool.hits());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void roomFromBlueprint_onlyHasBasicItems_forEarlyRooms() {
+        RoomPool pool = new RoomPool(1, 0);
+        for (int i = 0; i < 50; i++) {
+            Room room = new Room(pool.take(), 3, new Difficulty());
+            assertTrue(room.getItems().size() < 3);
+            room.getItems().forEach(item -> assertTrue(item.ordinal() < 6));
+        }
+    }
+
+    @Test
+    public void roomFromBlueprint_keepsDescriptionAndId() {
+        RoomBlueprint blueprint = new RoomPool(1, 0).take();
+        Room room = new Room(blueprint, 7, new Difficulty());
+        assertEquals(blueprint.description, room.getDescription());
+        assertEquals(7, room.getId());
+        assertEquals(blueprint.monster >= 0 ? 1 : 0, room.getMonsters().size());
+    }
+}
@@ -0,0 +1,72 @@
+package com.palehorsestudios.ard.environment;
+
+import com.palehorsestudios.ard.characters.Normal;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class RoomViewTest {
+    Room room;
+
+    @Before
+    public void setUp() {
+        room = new Room("room desc", 1);
+        room.getItems().forEach(room::grabItem);
+        room.clearMonsters();
+        room.roomChanged();
+    }
+
+    @Test
+    public void getView_unchangedRoom_returnsCachedView() {
+        assertSame(room.getView(), room.getView());
+    }
+
+    @Test
+    public void getView_afterAddItem_rebuildsView() {
+        RoomView before = room.getView();
+        room.addItem(Item.Sword);
+        RoomView after = room.getView();
+        assertNotSame(before, after);
+        assertEquals(java.util.List.of("Sword"), after.getItems());
+    }
+
+    @Test
+    public void getView_flattensMonstersAndChest() {
+        room.addMonster(new Normal("Chucky", 42, "Bad"));
+        room.setChest(new Chest(new Puzzle("q", "easy", "a", Set.of("b"))));
+        RoomView view = room.getView();
+        assertEquals(1, view.getId());
+        assertEquals("room desc", view.getDescription());
+        assertEquals("Chucky", view.getMonsters().get(0).getName());
+        assertEquals(42, view.getMonsters().get(0).getLife());
+        assertFalse(view.getChest().isBroken());
+
+        room.unlockChest();
+        assertTrue(room.getView().getChest().isBroken());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getMonsters_isReadOnly() {
+        room.getMonsters().add(new Normal("Chucky", 42, "Bad"));
+    }
+
+    @Test
+    public void getView_afterRemoveOrClearMonsters_rebuildsView() {
+        Normal chucky = new Normal("Chucky", 42, "Bad");
+        room.addMonster(chucky);
+        room.addMonster(new Normal("Annabelle", 7, "Bad"));
+        RoomView before = room.getView();
+        assertTrue(room.removeMonster(chucky));
+        RoomView removed = room.getView();
+        assertNotSame(before, removed);
+        assertEquals("Annabelle", removed.getMonsters().get(0).getName());
+
+        room.clearMonsters();
+        assertNotSame(removed, room.getView());
+        assertTrue(room.getView().getMonsters().isEmpty());
+        assertTrue(room.getMonsters().isEmpty());
+    }
+}
@@ -0,0 +1,56 @@
+package com.palehorsestudios.ard.util;
+
+import com.palehorsestudios.ard.util.commands.Verb;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CommandParserTest {
+
+    @Test
+    public void parse_synonymAndMixedCase_normalizes() {
+        ParsedCommand command = CommandParser.parse("  WaLk   nORTH!  ");
+        assertEquals(ParsedCommand.Status.OK, command.getStatus());
+        assertEquals(Verb.MOVE, command.getVerb());
+        assertEquals("North", command.getOption());
+        assertArrayEquals(new String[]{"move", "North"}, command.toArray());
+    }
+
+    @Test
+    public void parse_itemWithUnderscore_keepsWholeWord() {
+        ParsedCommand command = CommandParser.parse("pickup GAS_MASK");
+        assertEquals(ParsedCommand.Status.OK, command.getStatus());
+        assertEquals("Gas_mask", command.getOption());
+    }
+
+    @Test
+    public void parse_pickupAll_isValid() {
+        assertTrue(CommandParser.parse("pickup all").isValid());
+    }
+
+    @Test
+    public void parse_blank_isEmpty() {
+        assertEquals(ParsedCommand.Status.EMPTY, CommandParser.parse(" !? ").getStatus());
+    }
+
+    @Test
+    public void parse_unknownVerb() {
+        ParsedCommand command = CommandParser.parse("dance north");
+        assertEquals(ParsedCommand.Status.UNKNOWN_VERB, command.getStatus());
+        assertNull(command.getVerb());
+    }
+
+    @Test
+    public void parse_verbOnly_isMissingOption() {
+        ParsedCommand command = CommandParser.parse("move");
+        assertEquals(ParsedCommand.Status.MISSING_OPTION, command.getStatus());
+        assertEquals(Verb.MOVE, command.getVerb());
+    }
+
+    @Test
+    public void parse_badDirection_isInvalidOptionWithoutException() {
+        ParsedCommand command = CommandParser.parse("move up");
+        assertEquals(ParsedCommand.Status.INVALID_OPTION, command.getStatus());
+        assertEquals("Move where?", command.getVerb().getCommand().invalidMessage());
+    }
+}
@@ -0,0 +1,41 @@
+package com.palehorsestudios.ard.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ContentCatalogTest {
+    ContentCatalog catalog = ContentCatalog.get();
+
+    @Test
+    public void get_returnsSharedInstance() {
+        assertSame(catalog, ContentCatalog.get());
+    }
+
+    @Test
+    public void monsters_loadedWithNameAndDescription() {
+        assertEquals(15, catalog.monsterCount());
+        assertEquals("Chupacabra", catalog.monsterName(0));
+        assertEquals("a grotesque creature that drinks blood", catalog.monsterDescription(0));
+    }
+
+    @Test
+    public void puzzles_loaded() {
+        assertTrue(catalog.puzzleCount() > 0);
+        assertEquals("Madeon", catalog.puzzle(0).getAnswer());
+        assertEquals(2, catalog.puzzle(0).getDifficultyInt());
+    }
+
+    @Test
+    public void bannersMenuAndSynonyms_loaded() {
+        assertTrue(catalog.bannerCount() > 0);
+        assertEquals("Help Menu", catalog.helpMenu().getTitle());
+        assertTrue(catalog.synonyms().get("move").contains("walk"));
+        assertTrue(catalog.grammar().generate_Sentence().endsWith("."));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void synonyms_areReadOnly() {
+        catalog.synonyms().clear();
+    }
+}
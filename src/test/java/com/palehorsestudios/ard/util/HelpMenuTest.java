@@ -0,0 +1,82 @@
+package com.palehorsestudios.ard.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class HelpMenuTest {
+    HelpMenu menu;
+    ObjectMapper mapper = new ObjectMapper();
+
+    @Before
+    public void setUp() {
+        MenuTrieNode root = new MenuTrieNode("Help Menu", "Pick a topic.");
+        MenuTrieNode story = new MenuTrieNode("Story", "About the game.");
+        MenuTrieNode winning = new MenuTrieNode("Winning", "Defeat the boss.");
+        MenuTrieNode controls = new MenuTrieNode("Controls", "Type commands.");
+        story.addChild(winning);
+        root.addChild(story);
+        root.addChild(controls);
+        menu = new HelpMenu(root);
+    }
+
+    @Test
+    public void document_numbersNodesDepthFirst() throws IOException {
+        JsonNode nodes = mapper.readTree(menu.document()).get("nodes");
+        assertEquals(4, nodes.size());
+        assertEquals(4, menu.size());
+        assertEquals("Help Menu", nodes.get(0).get("title").asText());
+        assertFalse(nodes.get(0).has("parent"));
+        assertEquals("Winning", nodes.get(2).get("title").asText());
+        assertEquals(1, nodes.get(2).get("parent").asInt());
+        assertEquals("[1,3]", nodes.get(0).get("children").toString());
+    }
+
+    @Test
+    public void node_listsChildTitles() throws IOException {
+        JsonNode story = mapper.readTree(menu.node(1));
+        assertEquals("About the game.", story.get("description").asText());
+        assertEquals(0, story.get("parent").asInt());
+        assertEquals(2, story.get("children").get(0).get("id").asInt());
+        assertEquals("Winning", story.get("children").get(0).get("title").asText());
+    }
+
+    @Test
+    public void node_isPrecomputed() {
+        assertSame(menu.node(3), menu.node(3));
+        assertSame(menu.document(), menu.document());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void node_unknownId_throwsIllegalArgumentException() {
+        menu.node(4);
+    }
+
+    @Test
+    public void matches_currentEtagOnly() {
+        assertTrue(menu.etag().startsWith("\"") && menu.etag().endsWith("\""));
+        assertTrue(menu.matches(menu.etag()));
+        assertTrue(menu.matches("\"old\", " + menu.etag()));
+        assertTrue(menu.matches("W/" + menu.etag()));
+        assertTrue(menu.matches("*"));
+        assertFalse(menu.matches("\"old\""));
+        assertFalse(menu.matches(null));
+    }
+
+    @Test
+    public void text_rendersWholeTreeIndented() {
+        assertEquals("<Help Menu>\nPick a topic.\n- Story: About the game.\n  - Winning: Defeat the boss."
+                + "\n- Controls: Type commands.", menu.text());
+    }
+
+    @Test
+    public void get_buildsFromHelpMenuFile() {
+        assertTrue(HelpMenu.get().size() > 1);
+        assertTrue(HelpMenu.get().text().startsWith("<Help Menu>"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.palehorsestudios.ard.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SnapshotWriterTest {
+
+    @Test
+    public void varInts_roundTrip() {
+        int[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE};
+        SnapshotWriter out = new SnapshotWriter();
+        for (int value : values) {
+            out.writeVarInt(value);
+            out.writeSignedVarInt(-value);
+        }
+        out.writeSignedVarInt(Integer.MIN_VALUE);
+        SnapshotReader in = new SnapshotReader(out.toByteArray());
+        for (int value : values) {
+            assertEquals(value, in.readVarInt());
+            assertEquals(-value, in.readSignedVarInt());
+        }
+        assertEquals(Integer.MIN_VALUE, in.readSignedVarInt());
+        assertTrue(in.atEnd());
+    }
+
+    @Test
+    public void writeVarInt_small_oneByte() {
+        SnapshotWriter out = new SnapshotWriter();
+        out.writeVarInt(127);
+        out.writeSignedVarInt(-64);
+        assertEquals(2, out.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeVarInt_negative_throws() {
+        new SnapshotWriter().writeVarInt(-1);
+    }
+
+    @Test
+    public void strings_repeatsWrittenOnce() {
+        SnapshotWriter out = new SnapshotWriter();
+        out.writeString("goblin");
+        assertEquals(7, out.size()); // header and six bytes
+        out.writeString("goblin");
+        assertEquals(8, out.size()); // back-reference only
+        out.writeString(null);
+        out.writeString("");
+        out.writeString("\u00e9t\u00e9");
+        SnapshotReader in = new SnapshotReader(out.toByteArray());
+        assertEquals("goblin", in.readString());
+        assertEquals("goblin", in.readString());
+        assertNull(in.readString());
+        assertEquals("", in.readString());
+        assertEquals("\u00e9t\u00e9", in.readString());
+        assertTrue(in.atEnd());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readString_unknownReference_throws() {
+        SnapshotWriter out = new SnapshotWriter();
+        out.writeVarInt(3 << 1 | 1);
+        new SnapshotReader(out.toByteArray()).readString();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readVarInt_truncated_throws() {
+        new SnapshotReader(new byte[]{(byte) 0x80}).readVarInt();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readVarInt_aboveBound_throws() {
+        SnapshotWriter out = new SnapshotWriter();
+        out.writeVarInt(12);
+        new SnapshotReader(out.toByteArray()).readVarInt(12);
+    }
+}
@@ -0,0 +1,57 @@
+package com.palehorsestudios.ard.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SynonymTrieTest {
+    SynonymTrie trie;
+
+    @Before
+    public void setUp() {
+        trie = new SynonymTrie(Map.of(
+                "move", List.of("walk", "go", "\n   "),
+                "look", List.of("watch", "see"),
+                "drop", List.of("drop-off")));
+    }
+
+    @Test
+    public void lookup_verbMapsToItself() {
+        assertEquals("move", trie.lookup("move"));
+    }
+
+    @Test
+    public void lookup_synonymMapsToVerb() {
+        assertEquals("move", trie.lookup("walk"));
+        assertEquals("look", trie.lookup("see"));
+        assertEquals("drop", trie.lookup("drop-off"));
+    }
+
+    @Test
+    public void lookup_ignoresCase() {
+        assertEquals("move", trie.lookup("WaLk"));
+    }
+
+    @Test
+    public void lookup_unknownOrPrefix_returnsNull() {
+        assertNull(trie.lookup("wal"));
+        assertNull(trie.lookup("walks"));
+        assertNull(trie.lookup("fly"));
+        assertNull(trie.lookup(""));
+    }
+
+    @Test
+    public void lookup_slice_matchesWordInsideText() {
+        assertEquals("look", trie.lookup("  watch me", 2, 7));
+    }
+
+    @Test
+    public void verbSynonyms_usesCatalogTrie() {
+        assertEquals("move", InputValidation.VERB_SYNONYMS("travel"));
+        assertEquals("", InputValidation.VERB_SYNONYMS("dance"));
+    }
+}